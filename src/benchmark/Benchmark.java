@@ -0,0 +1,217 @@
+package benchmark;
+
+import spell.DictionaryLoader;
+import spell.SpellCorrector;
+import spell.Trie;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Measures dictionary loading, Trie.add, Trie.find and suggestSimilarWord,
+ * reporting throughput, average and p99 latency, allocation per operation and
+ * garbage collection for each. Suggestion latency is broken down by the kind
+ * of query (an exact hit, distance 1, distance 2 or no suggestion at all) and
+ * by the query's length.
+ *
+ * By default the dictionaries and queries come from a CorpusGenerator with a
+ * fixed seed, for several dictionary sizes, so runs can be compared with each
+ * other. Given a dictionary file and a query file written by CorpusGenerator,
+ * it measures those instead.
+ *
+ * This class is not used by the passoff program. Run it with a large enough
+ * heap for the biggest dictionary, e.g. -Xmx3g for a million words.
+ */
+public class Benchmark {
+    private static final long SEED = 22;
+    private static final int[] DEFAULT_SIZES = {10000, 100000, 1000000};
+    private static final int DEFAULT_QUERIES_PER_BUCKET = 100;
+    private static final int TOKENS_PER_WORD = 10;
+    private static final String[] LENGTH_NAMES = {"short", "medium", "long"};
+
+    /**
+     * Give a dictionary file and a query file, or optionally a comma-separated
+     * list of dictionary sizes to generate as the first argument and the number
+     * of queries per latency bucket as the second.
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.printf("Java %s, max heap %d MB%n", System.getProperty("java.version"),
+                Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        if (args.length > 1 && Files.isRegularFile(Paths.get(args[0]))) {
+            runFiles(args[0], args[1]);
+            return;
+        }
+
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            String[] values = args[0].split(",");
+            sizes = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                sizes[i] = Integer.parseInt(values[i].trim());
+            }
+        }
+        int queriesPerBucket = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_QUERIES_PER_BUCKET;
+        for (int size : sizes) {
+            run(size, queriesPerBucket);
+        }
+    }
+
+    private static void run(int size, int queriesPerBucket) throws IOException {
+        CorpusGenerator generator = new CorpusGenerator(SEED + size, size, 1);
+        Path dictionary = Files.createTempFile("benchmark-", ".txt");
+        try {
+            long tokens;
+            try (Writer out = Files.newBufferedWriter(dictionary)) {
+                tokens = generator.writeDictionary(out, (long) size * TOKENS_PER_WORD);
+            }
+            System.out.printf("%nDictionary of %d words, %d tokens%n", size, tokens);
+
+            SpellCorrector corrector = new SpellCorrector();
+            corrector.useDictionary(dictionary.toString());
+            generator.setCorrector(corrector);
+            String[] words = new String[size];
+            for (int rank = 0; rank < size; rank++) {
+                words[rank] = generator.getWord(rank);
+            }
+
+            List<List<List<String>>> queries = emptyBuckets();
+            for (Query.Kind kind : Query.Kind.values()) {
+                List<List<String>> byLength = queries.get(kind.ordinal());
+                int full = 0;
+                for (int attempt = 0; attempt < queriesPerBucket * LENGTH_NAMES.length * 4 && full < LENGTH_NAMES.length; attempt++) {
+                    String query = generator.nextQuery(kind).getText();
+                    List<String> bucket = byLength.get(lengthBucket(query));
+                    if (bucket.size() < queriesPerBucket) {
+                        bucket.add(query);
+                        if (bucket.size() == queriesPerBucket) {
+                            full++;
+                        }
+                    }
+                }
+            }
+
+            measure(dictionary.toString(), words, corrector, queries);
+        } finally {
+            Files.deleteIfExists(dictionary);
+        }
+    }
+
+    private static void runFiles(String dictionary, String queryFile) throws IOException {
+        Trie loaded = new Trie();
+        new DictionaryLoader(loaded).load(dictionary);
+        List<String> words = loaded.words().collect(Collectors.toList());
+        Collections.shuffle(words, new Random(SEED));
+        System.out.printf("%nDictionary %s of %d words%n", dictionary, words.size());
+
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.useDictionary(dictionary);
+        List<List<List<String>>> queries = emptyBuckets();
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(queryFile))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    Query query = Query.parse(line);
+                    queries.get(query.getKind().ordinal()).get(lengthBucket(query.getText())).add(query.getText());
+                }
+            }
+        }
+
+        measure(dictionary, words.toArray(new String[0]), corrector, queries);
+    }
+
+    private static void measure(String dictionary, String[] words, SpellCorrector corrector,
+                                List<List<List<String>>> queries) throws IOException {
+        Random random = new Random(SEED);
+        Trie trie = new Trie();
+        for (String word : words) {
+            trie.add(word);
+        }
+        String[] misses = new String[words.length];
+        int n = 0;
+        while (n < misses.length) {
+            String miss = CorpusGenerator.mutate(words[random.nextInt(words.length)], 1, random);
+            if (trie.find(miss) == null) {
+                misses[n++] = miss;
+            }
+        }
+
+        System.out.println(Result.header());
+        Measurement slow = new Measurement(1, 3);
+        Measurement fast = new Measurement(2, 5);
+        System.out.println(slow.measure("useDictionary", index -> {
+            SpellCorrector loading = new SpellCorrector();
+            loading.useDictionary(dictionary);
+
+            return 0;
+        }, 1, 1));
+        System.out.println(slow.measure("Trie.add", new Measurement.Operation() {
+            private Trie building;
+
+            @Override
+            public void setup() {
+                building = new Trie();
+            }
+
+            @Override
+            public long run(int index) {
+                building.add(words[index]);
+
+                return 0;
+            }
+        }, words.length, 1000));
+        System.out.println(fast.measure("Trie.find hit", index -> (trie.find(words[index]) != null) ? 1 : 0,
+                words.length, 1000));
+        System.out.println(fast.measure("Trie.find miss", index -> (trie.find(misses[index]) != null) ? 1 : 0,
+                misses.length, 1000));
+
+        for (Query.Kind kind : Query.Kind.values()) {
+            for (int length = 0; length < LENGTH_NAMES.length; length++) {
+                List<String> bucket = queries.get(kind.ordinal()).get(length);
+                if (bucket.isEmpty()) {
+                    System.out.printf("%-34s no queries found%n", "suggest " + kind.getLabel() + " " + LENGTH_NAMES[length]);
+                    continue;
+                }
+                String name = String.format("suggest %s %s [%d]", kind.getLabel(), LENGTH_NAMES[length], bucket.size());
+                System.out.println(fast.measure(name, index -> {
+                    String suggestion = corrector.suggestSimilarWord(bucket.get(index));
+
+                    return (suggestion == null) ? 0 : suggestion.length();
+                }, bucket.size(), 1));
+            }
+        }
+    }
+
+    /**
+     * Buckets of queries by kind and by length (up to 5, 6 to 8, or 9 and more
+     * characters). Buckets that queries rarely reach, such as short words with
+     * no suggestion in a large dictionary, may stay short.
+     */
+    private static List<List<List<String>>> emptyBuckets() {
+        List<List<List<String>>> queries = new ArrayList<>();
+        for (int kind = 0; kind < Query.Kind.values().length; kind++) {
+            queries.add(new ArrayList<>());
+            for (int length = 0; length < LENGTH_NAMES.length; length++) {
+                queries.get(kind).add(new ArrayList<>());
+            }
+        }
+
+        return queries;
+    }
+
+    private static int lengthBucket(String query) {
+        if (query.length() <= 5) {
+            return 0;
+        }
+
+        return (query.length() <= 8) ? 1 : 2;
+    }
+}
@@ -0,0 +1,307 @@
+package benchmark;
+
+import spell.SpellCorrector;
+import spell.Suggestion;
+import spell.Trie;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible inputs for benchmarks: a vocabulary of made-up words,
+ * dictionaries in which the words follow a Zipf distribution, and streams of
+ * queries with a chosen mix of exact hits, distance 1 and distance 2
+ * misspellings, and words too far from the dictionary to correct. Everything
+ * follows from the seed.
+ *
+ * Words have 3 to 11 letters, mostly around 7, drawn at their frequency in
+ * English text so that words share prefixes the way real ones do. Only the
+ * vocabulary is held in memory: dictionaries and query files are written as
+ * they are generated, so they can run to tens of millions of tokens.
+ *
+ * Dictionaries are plain text that useDictionary reads, sixteen tokens to a
+ * line; query files hold one Query per line.
+ */
+public class CorpusGenerator {
+    private static final double[] LETTER_WEIGHTS = {
+            8.2, 1.5, 2.8, 4.3, 12.7, 2.2, 2.0, 6.1, 7.0, 0.2, 0.8, 4.0, 2.4,
+            6.7, 7.5, 1.9, 0.1, 6.0, 6.3, 9.1, 2.8, 1.0, 2.4, 0.2, 2.0, 0.1};
+    private static final double LETTER_WEIGHT_TOTAL = Arrays.stream(LETTER_WEIGHTS).sum();
+    private static final int TOKENS_PER_LINE = 16;
+    private static final int MAX_ATTEMPTS = 10000;
+    private static final double[] DEFAULT_MIX = {0.4, 0.3, 0.2, 0.1};
+
+    private final String[] vocabulary;
+    private final double exponent;
+    private final double[] cumulative;
+    private final double weightTotal;
+    private final Random random;
+    private final double[] mix;
+    private SpellCorrector corrector;
+
+    /**
+     * Creates the vocabulary. The word of rank r (counting from zero) is given
+     * a weight of 1 / (r + 1)^exponent; an exponent of 1 is close to word
+     * frequencies in natural language.
+     */
+    public CorpusGenerator(long seed, int vocabularySize, double exponent) {
+        Random words = new Random(seed);
+        vocabulary = new String[vocabularySize];
+        HashSet<String> seen = new HashSet<>();
+        int n = 0;
+        while (n < vocabularySize) {
+            String word = randomWord(words);
+            if (seen.add(word)) {
+                vocabulary[n++] = word;
+            }
+        }
+
+        this.exponent = exponent;
+        cumulative = new double[vocabularySize];
+        double total = 0;
+        for (int rank = 0; rank < vocabularySize; rank++) {
+            total += weight(rank);
+            cumulative[rank] = total;
+        }
+        weightTotal = total;
+        random = new Random(seed + 1);
+        mix = DEFAULT_MIX.clone();
+    }
+
+    /**
+     * Give the vocabulary size, the number of dictionary tokens, the dictionary
+     * file name, the number of queries and the query file name. Optionally give
+     * a seed, a Zipf exponent and the query mix as percentages of exact hits,
+     * distance 1, distance 2 and uncorrectable queries, e.g. 40,30,20,10.
+     */
+    public static void main(String[] args) throws IOException {
+        int vocabularySize = Integer.parseInt(args[0]);
+        long tokens = Long.parseLong(args[1]);
+        int queryCount = Integer.parseInt(args[3]);
+        long seed = (args.length > 5) ? Long.parseLong(args[5]) : 0;
+        double exponent = (args.length > 6) ? Double.parseDouble(args[6]) : 1;
+
+        CorpusGenerator generator = new CorpusGenerator(seed, vocabularySize, exponent);
+        if (args.length > 7) {
+            String[] percentages = args[7].split(",");
+            generator.setQueryMix(Double.parseDouble(percentages[0]), Double.parseDouble(percentages[1]),
+                    Double.parseDouble(percentages[2]), Double.parseDouble(percentages[3]));
+        }
+
+        long start = System.nanoTime();
+        long written;
+        try (Writer out = Files.newBufferedWriter(Paths.get(args[2]))) {
+            written = generator.writeDictionary(out, tokens);
+        }
+        System.out.printf("Wrote %d tokens of %d words in %.1f s%n", written, vocabularySize, (System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        try (Writer out = Files.newBufferedWriter(Paths.get(args[4]))) {
+            generator.writeQueries(out, queryCount);
+        }
+        System.out.printf("Wrote %d queries in %.1f s%n", queryCount, (System.nanoTime() - start) / 1e9);
+    }
+
+    public int getVocabularySize() {
+        return vocabulary.length;
+    }
+
+    /**
+     * Returns the word of the given frequency rank, the most frequent being 0.
+     */
+    public String getWord(int rank) {
+        return vocabulary[rank];
+    }
+
+    /**
+     * How often the word of the given rank appears in a dictionary written
+     * with about the given number of tokens. Every word appears at least once,
+     * so the dictionary holds the whole vocabulary.
+     */
+    public long getFrequency(int rank, long tokens) {
+        return Math.max(1, Math.round(tokens * weight(rank) / weightTotal));
+    }
+
+    /**
+     * Sets the share of each kind of query; they need not add up to one.
+     */
+    public void setQueryMix(double exact, double distance1, double distance2, double unfixable) {
+        mix[0] = exact;
+        mix[1] = distance1;
+        mix[2] = distance2;
+        mix[3] = unfixable;
+    }
+
+    /**
+     * Classifies misspellings against corrector, which must hold exactly this
+     * generator's vocabulary, instead of building a corrector of its own.
+     */
+    public void setCorrector(SpellCorrector corrector) {
+        this.corrector = corrector;
+    }
+
+    /**
+     * Writes every word of the vocabulary getFrequency times, most frequent
+     * first, and returns the number of tokens written.
+     */
+    public long writeDictionary(Writer out, long tokens) throws IOException {
+        Writer buffered = (out instanceof BufferedWriter) ? out : new BufferedWriter(out);
+        long written = 0;
+        for (int rank = 0; rank < vocabulary.length; rank++) {
+            long frequency = getFrequency(rank, tokens);
+            for (long i = 0; i < frequency; i++) {
+                buffered.write(vocabulary[rank]);
+                buffered.write((++written % TOKENS_PER_LINE == 0) ? '\n' : ' ');
+            }
+        }
+        buffered.write('\n');
+        buffered.flush();
+
+        return written;
+    }
+
+    public void writeQueries(Writer out, int count) throws IOException {
+        Writer buffered = (out instanceof BufferedWriter) ? out : new BufferedWriter(out);
+        for (int i = 0; i < count; i++) {
+            buffered.write(nextQuery().toString());
+            buffered.write('\n');
+        }
+        buffered.flush();
+    }
+
+    /**
+     * Returns a query of a kind chosen by the query mix.
+     */
+    public Query nextQuery() {
+        double target = random.nextDouble() * Arrays.stream(mix).sum();
+        Query.Kind[] kinds = Query.Kind.values();
+        for (int i = 0; i < kinds.length - 1; i++) {
+            target -= mix[i];
+            if (target < 0) {
+                return nextQuery(kinds[i]);
+            }
+        }
+
+        return nextQuery(kinds[kinds.length - 1]);
+    }
+
+    /**
+     * Returns a query of the given kind. Queries are made from words picked by
+     * their Zipf weight, so common words are queried more often, and the kind
+     * is checked against the dictionary: a distance 1 query is not itself a
+     * word, a distance 2 query has no word within distance 1, and an
+     * uncorrectable query has none within distance 2.
+     */
+    public Query nextQuery(Query.Kind kind) {
+        if (kind == Query.Kind.EXACT) {
+            String word = pickWord();
+
+            return new Query(word, kind, word);
+        }
+
+        SpellCorrector checker = getCorrector();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (kind == Query.Kind.UNFIXABLE) {
+                String text = randomWord(random);
+                if (checker.suggest(text, 1, 2).isEmpty()) {
+                    return new Query(text, kind, "");
+                }
+                continue;
+            }
+
+            String word = pickWord();
+            int edits = (kind == Query.Kind.DISTANCE_1) ? 1 : 2;
+            String text = mutate(word, edits, random);
+            List<Suggestion> nearest = checker.suggest(text, 1, 1);
+            boolean nearEnough = nearest.isEmpty() || (edits == 1 && nearest.get(0).getDistance() == 1);
+            if (nearEnough) {
+                return new Query(text, kind, word);
+            }
+        }
+        throw new IllegalStateException("Could not generate a " + kind.getLabel() + " query for this vocabulary");
+    }
+
+    /**
+     * Applies random insertions, deletions, substitutions and swaps of
+     * adjacent letters to word. An edit can leave the word as it was, such as
+     * swapping two equal letters, so the result is at most edits away.
+     */
+    public static String mutate(String word, int edits, Random random) {
+        StringBuilder mutated = new StringBuilder(word);
+        for (int e = 0; e < edits; e++) {
+            int position = random.nextInt(mutated.length());
+            switch (random.nextInt(4)) {
+                case 0:
+                    mutated.insert(position, randomLetter(random));
+                    break;
+                case 1:
+                    if (mutated.length() > 1) {
+                        mutated.deleteCharAt(position);
+                    }
+                    break;
+                case 2:
+                    mutated.setCharAt(position, randomLetter(random));
+                    break;
+                default:
+                    if (position + 1 < mutated.length()) {
+                        char swapped = mutated.charAt(position);
+                        mutated.setCharAt(position, mutated.charAt(position + 1));
+                        mutated.setCharAt(position + 1, swapped);
+                    }
+            }
+        }
+
+        return mutated.toString();
+    }
+
+    private SpellCorrector getCorrector() {
+        if (corrector == null) {
+            Trie trie = new Trie();
+            for (String word : vocabulary) {
+                trie.add(word);
+            }
+            corrector = new SpellCorrector(trie);
+        }
+
+        return corrector;
+    }
+
+    private String pickWord() {
+        double target = random.nextDouble() * weightTotal;
+        int rank = Arrays.binarySearch(cumulative, target);
+
+        return vocabulary[Math.min((rank < 0) ? -rank - 1 : rank, vocabulary.length - 1)];
+    }
+
+    private double weight(int rank) {
+        return Math.pow(rank + 1, -exponent);
+    }
+
+    private static String randomWord(Random random) {
+        char[] letters = new char[3 + random.nextInt(5) + random.nextInt(5)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = randomLetter(random);
+        }
+
+        return new String(letters);
+    }
+
+    private static char randomLetter(Random random) {
+        double target = random.nextDouble() * LETTER_WEIGHT_TOTAL;
+        for (int i = 0; i < LETTER_WEIGHTS.length; i++) {
+            target -= LETTER_WEIGHTS[i];
+            if (target < 0) {
+                return (char) ('a' + i);
+            }
+        }
+
+        return 'z';
+    }
+}
@@ -0,0 +1,138 @@
+package benchmark;
+
+import spell.CorrectionServer;
+import spell.LatencyHistogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Puts load on a running CorrectionServer. Every connection sends requests of
+ * several query words, keeping up to a given number of requests in flight, and
+ * times each request from sending it to reading its response. Queries come
+ * from a file of one query per line, such as one CorpusGenerator writes; only
+ * the text before the first tab of a line is used.
+ */
+public class LoadGenerator {
+    private static final int DEFAULT_CONNECTIONS = 4;
+    private static final int DEFAULT_WORDS_PER_REQUEST = 8;
+    private static final int DEFAULT_REQUESTS = 2000;
+    private static final int DEFAULT_PIPELINE_DEPTH = 16;
+
+    /**
+     * Give the server's port or socket path and a query file. Optionally give
+     * the number of connections, words per request, requests per connection
+     * and requests kept in flight on each connection.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: LoadGenerator <port | socket path> <query file> "
+                    + "[connections] [words per request] [requests per connection] [pipeline depth]");
+            return;
+        }
+        SocketAddress address = CorrectionServer.parseAddress(args[0]);
+        List<String> queries = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(args[1]))) {
+            int tab = line.indexOf('\t');
+            String query = ((tab < 0) ? line : line.substring(0, tab)).trim();
+            if (!query.isEmpty()) {
+                queries.add(query);
+            }
+        }
+        int connections = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_CONNECTIONS;
+        int wordsPerRequest = (args.length > 3) ? Integer.parseInt(args[3]) : DEFAULT_WORDS_PER_REQUEST;
+        int requests = (args.length > 4) ? Integer.parseInt(args[4]) : DEFAULT_REQUESTS;
+        int depth = (args.length > 5) ? Integer.parseInt(args[5]) : DEFAULT_PIPELINE_DEPTH;
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        AtomicLong unanswered = new AtomicLong();
+        List<Thread> clients = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < connections; c++) {
+            int offset = c * requests * wordsPerRequest;
+            Thread client = new Thread(() -> {
+                try {
+                    unanswered.addAndGet(runClient(address, queries, offset, wordsPerRequest, requests, depth, latencies));
+                } catch (IOException e) {
+                    System.out.println("Connection failed: " + e);
+                }
+            });
+            client.start();
+            clients.add(client);
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        LatencyHistogram.Snapshot snapshot = latencies.snapshot();
+        System.out.printf("%d connections, %d words per request, pipeline depth %d%n", connections, wordsPerRequest, depth);
+        System.out.printf("%d requests in %.2f s: %.0f requests/s, %.0f words/s, %d words without a suggestion%n",
+                snapshot.getCount(), seconds, snapshot.getCount() / seconds,
+                snapshot.getCount() * wordsPerRequest / seconds, unanswered.get());
+        System.out.printf("request latency: mean %.1f us, p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                snapshot.getMean() / 1e3, snapshot.getValueAtPercentile(50) / 1e3,
+                snapshot.getValueAtPercentile(99) / 1e3, snapshot.getMax() / 1e3);
+    }
+
+    /**
+     * Sends requests over one connection, writing more whenever fewer than
+     * depth are waiting for a response, and returns how many words had no
+     * suggestion.
+     */
+    private static long runClient(SocketAddress address, List<String> queries, int offset, int wordsPerRequest,
+                                  int requests, int depth, LatencyHistogram latencies) throws IOException {
+        long unanswered = 0;
+        try (SocketChannel channel = (address instanceof UnixDomainSocketAddress)
+                ? SocketChannel.open(StandardProtocolFamily.UNIX)
+                : SocketChannel.open()) {
+            channel.connect(address);
+            OutputStream out = Channels.newOutputStream(channel);
+            BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            ArrayDeque<Long> sendTimes = new ArrayDeque<>();
+            int sent = 0;
+            int next = offset;
+            StringBuilder request = new StringBuilder();
+            while (sent < requests || !sendTimes.isEmpty()) {
+                request.setLength(0);
+                while (sent < requests && sendTimes.size() < depth) {
+                    for (int w = 0; w < wordsPerRequest; w++) {
+                        request.append(queries.get(next++ % queries.size())).append((w + 1 < wordsPerRequest) ? ' ' : '\n');
+                    }
+                    sendTimes.add(System.nanoTime());
+                    sent++;
+                }
+                if (request.length() > 0) {
+                    out.write(request.toString().getBytes(StandardCharsets.UTF_8));
+                }
+
+                String response = in.readLine();
+                if (response == null) {
+                    throw new IOException("Server closed the connection");
+                }
+                latencies.record(System.nanoTime() - sendTimes.poll());
+                for (String suggestion : response.split(" ")) {
+                    if (suggestion.equals(CorrectionServer.NO_SUGGESTION)) {
+                        unanswered++;
+                    }
+                }
+            }
+        }
+
+        return unanswered;
+    }
+}
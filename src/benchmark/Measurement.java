@@ -0,0 +1,114 @@
+package benchmark;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Times one operation the way a microbenchmark harness does: warm-up rounds
+ * first, so the JIT has compiled the code being measured, then measured rounds.
+ * Every sample times a batch of consecutive operations, which keeps the cost of
+ * reading the clock out of operations that take nanoseconds; slow operations
+ * use batches of one, so their samples are individual latencies.
+ *
+ * Allocation comes from the JVM's per-thread allocation counter and garbage
+ * collection from the collector beans, covering only the measured rounds. The
+ * values operations return are folded into a field, so the JIT cannot drop
+ * the work that produced them.
+ */
+class Measurement {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final int warmupRounds;
+    private final int rounds;
+    private long sink;
+
+    public Measurement(int warmupRounds, int rounds) {
+        this.warmupRounds = warmupRounds;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Something to measure. Operations are numbered from zero within a round,
+     * and setup runs before every round, outside the timings.
+     */
+    interface Operation {
+        default void setup() {
+        }
+
+        long run(int index) throws IOException;
+    }
+
+    public Result measure(String name, Operation operation, int operationsPerRound, int batchSize) throws IOException {
+        int batchesPerRound = (operationsPerRound + batchSize - 1) / batchSize;
+        long[] samples = new long[batchesPerRound];
+        for (int round = 0; round < warmupRounds; round++) {
+            runRound(operation, operationsPerRound, batchSize, samples, 0);
+        }
+
+        samples = new long[batchesPerRound * rounds];
+        long allocatedBefore = allocatedBytes();
+        long collectionsBefore = collectionCount();
+        long collectionMillisBefore = collectionMillis();
+        long elapsed = 0;
+        for (int round = 0; round < rounds; round++) {
+            elapsed += runRound(operation, operationsPerRound, batchSize, samples, round * batchesPerRound);
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        return new Result(name, (long) operationsPerRound * rounds, elapsed, samples,
+                (allocatedBefore < 0) ? -1 : allocated,
+                collectionCount() - collectionsBefore, collectionMillis() - collectionMillisBefore);
+    }
+
+    /**
+     * Runs one round, writing each batch's time per operation into samples
+     * from the given index, and returns the time the batches took together.
+     */
+    private long runRound(Operation operation, int operations, int batchSize, long[] samples, int sample)
+            throws IOException {
+        operation.setup();
+        long result = 0;
+        long elapsed = 0;
+        for (int first = 0; first < operations; first += batchSize) {
+            int last = Math.min(operations, first + batchSize);
+            long start = System.nanoTime();
+            for (int i = first; i < last; i++) {
+                result += operation.run(i);
+            }
+            long batch = System.nanoTime() - start;
+            elapsed += batch;
+            samples[sample++] = batch / (last - first);
+        }
+        sink += result;
+
+        return elapsed;
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean)THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        return -1;
+    }
+
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+
+        return count;
+    }
+
+    private static long collectionMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+
+        return millis;
+    }
+}
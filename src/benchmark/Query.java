@@ -0,0 +1,77 @@
+package benchmark;
+
+/**
+ * A generated query: the text to correct, how far it is from the nearest
+ * dictionary word, and the word it was made from. Written to and read from
+ * query files as one tab-separated line.
+ */
+public class Query {
+    public enum Kind {
+        EXACT("exact"),
+        DISTANCE_1("distance1"),
+        DISTANCE_2("distance2"),
+        UNFIXABLE("none");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static Kind fromLabel(String label) {
+            for (Kind kind : values()) {
+                if (kind.label.equals(label)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown query kind: " + label);
+        }
+    }
+
+    private final String text;
+    private final Kind kind;
+    private final String intended;
+
+    public Query(String text, Kind kind, String intended) {
+        this.text = text;
+        this.kind = kind;
+        this.intended = intended;
+    }
+
+    /**
+     * Reads a line written by toString.
+     */
+    public static Query parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Not a query line: " + line);
+        }
+
+        return new Query(fields[0], Kind.fromLabel(fields[1]), fields[2]);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * The dictionary word the query was made from, or an empty string for
+     * queries that were not made from one.
+     */
+    public String getIntended() {
+        return intended;
+    }
+
+    @Override
+    public String toString() {
+        return text + '\t' + kind.getLabel() + '\t' + intended;
+    }
+}
@@ -0,0 +1,64 @@
+package benchmark;
+
+import java.util.Arrays;
+
+/**
+ * What one Measurement found: throughput, latency percentiles, allocation per
+ * operation and the garbage collection that happened while measuring.
+ */
+class Result {
+    private final String name;
+    private final long operations;
+    private final long elapsedNanos;
+    private final long[] sortedSamples;
+    private final long allocatedBytes;
+    private final long collections;
+    private final long collectionMillis;
+
+    public Result(String name, long operations, long elapsedNanos, long[] samples,
+                  long allocatedBytes, long collections, long collectionMillis) {
+        this.name = name;
+        this.operations = operations;
+        this.elapsedNanos = elapsedNanos;
+        sortedSamples = samples.clone();
+        Arrays.sort(sortedSamples);
+        this.allocatedBytes = allocatedBytes;
+        this.collections = collections;
+        this.collectionMillis = collectionMillis;
+    }
+
+    public static String header() {
+        return String.format("%-34s %14s %12s %12s %12s %12s %10s",
+                "benchmark", "ops/s", "avg us", "p50 us", "p99 us", "alloc B/op", "gcs (ms)");
+    }
+
+    public double getThroughput() {
+        return operations * 1e9 / elapsedNanos;
+    }
+
+    public double getAverageMicros() {
+        return elapsedNanos / 1e3 / operations;
+    }
+
+    /**
+     * The given percentile of the samples, in microseconds. Samples of batches
+     * are per-operation averages, so for batched operations this is the
+     * percentile of batch averages rather than of single operations.
+     */
+    public double getPercentileMicros(double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sortedSamples.length) - 1;
+
+        return sortedSamples[Math.max(0, Math.min(index, sortedSamples.length - 1))] / 1e3;
+    }
+
+    public double getAllocatedBytesPerOperation() {
+        return (allocatedBytes < 0) ? Double.NaN : (double) allocatedBytes / operations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-34s %14.2f %12.3f %12.3f %12.3f %12.1f %4d (%d)",
+                name, getThroughput(), getAverageMicros(), getPercentileMicros(50), getPercentileMicros(99),
+                getAllocatedBytesPerOperation(), collections, collectionMillis);
+    }
+}
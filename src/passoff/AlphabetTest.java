@@ -0,0 +1,106 @@
+package passoff;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.Dawg;
+import spell.DictionaryLoader;
+import spell.SpellCorrector;
+import spell.Trie;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlphabetTest {
+
+    private static final String UNICODE_FILENAME = "unicode.txt";
+
+    @AfterEach
+    public void cleanup() {
+        new File(UNICODE_FILENAME).delete();
+    }
+
+    @Test
+    @DisplayName("Words Beyond a to z")
+    public void testExtendedWords() {
+        Trie trie = new Trie();
+        for (String word : new String[] {"na\u00efve", "Caf\u00e9", "don't", "caf\u00e9", "\u00fcber", "x-ray"}) {
+            trie.add(word);
+        }
+        assertEquals(5, trie.getWordCount(), "Incorrect word count");
+        assertEquals(2, trie.find("CAF\u00c9").getValue(), "Upper case word counted separately");
+        assertNull(trie.find("cafe"), "Found a word with a different accent");
+        assertEquals("caf\u00e9\ndon't\nna\u00efve\nx-ray\n\u00fcber\n", trie.toString(), "Words not listed alphabetically");
+        assertEquals(trie, Trie.copyOf(trie), "Copy differs from the original");
+
+        SpellCorrector corrector = new SpellCorrector(trie);
+        assertEquals("caf\u00e9", corrector.suggestSimilarWord("cafe"));
+        assertEquals("don't", corrector.suggestSimilarWord("dont"));
+        assertEquals("\u00fcber", corrector.suggestSimilarWord("uber"));
+        assertEquals(Arrays.asList("na\u00efve"), corrector.complete("NA\u00cf", 3));
+    }
+
+    @Test
+    @DisplayName("Merging Tries With Different Alphabets")
+    public void testMerge() {
+        Trie first = new Trie();
+        first.add("se\u00f1or");
+        first.add("\u00e9lan");
+        Trie second = new Trie();
+        second.add("\u00e9lan");
+        second.add("a\u00f1o");
+        Trie expected = new Trie();
+        for (String word : new String[] {"a\u00f1o", "\u00e9lan", "\u00e9lan", "se\u00f1or"}) {
+            expected.add(word);
+        }
+
+        first.merge(second);
+        assertEquals(expected, first, "Merged trie differs");
+        assertEquals(3, first.getWordCount(), "Incorrect word count after merging");
+        assertEquals(2, first.find("\u00e9lan").getValue(), "Frequencies not summed");
+        assertEquals("a\u00f1o\nse\u00f1or\n\u00e9lan\n", first.toString(), "Words not listed alphabetically");
+        assertThrows(UnsupportedOperationException.class, () -> Dawg.minimize(first));
+    }
+
+    @Test
+    @DisplayName("UTF-8 Dictionary")
+    public void testUtf8() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(UNICODE_FILENAME)) {
+            out.write("Caf\u00e9,caf\u00e9 CAF\u00c9\nStra\u00dfe \ud835\udc9clpha na\u00efve-x 42\u00a0\u00fcber".getBytes(StandardCharsets.UTF_8));
+        }
+        Trie trie = new Trie();
+        new DictionaryLoader(trie).load(UNICODE_FILENAME);
+        assertEquals("42\ncaf\u00e9\nna\u00efve-x\nstra\u00dfe\n\u00fcber\n\ud835\udc9clpha\n", trie.toString(), "Incorrect words after decoding");
+        assertEquals(3, trie.find("caf\u00e9").getValue(), "Upper case word counted separately");
+    }
+
+    @Test
+    @DisplayName("Parallel UTF-8 Load Matches Sequential Load")
+    public void testParallel() throws IOException {
+        String[] syllables = {"\u00e9", "\u00f1", "\u00f8", "\u0436", "a", "b", "\u65e5", "\ud835\udc9c"};
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(UNICODE_FILENAME), StandardCharsets.UTF_8))) {
+            for (int i = 0; i < 300000; i++) {
+                for (int n = i * 7919; n > 0; n /= 8) {
+                    out.write(syllables[n % 8]);
+                }
+                out.write((i % 11 == 0) ? "\n" : " ");
+            }
+        }
+        Trie sequential = new Trie();
+        new DictionaryLoader(sequential).load(UNICODE_FILENAME);
+        Trie parallel = new Trie();
+        new DictionaryLoader(parallel).loadParallel(UNICODE_FILENAME, new ForkJoinPool(4));
+        assertEquals(sequential, parallel, "Parallel load built a different trie");
+        assertEquals(sequential.getWordCount(), parallel.getWordCount(), "Incorrect word count after parallel load");
+        assertEquals(sequential.toString(), parallel.toString(), "Words listed differently after parallel load");
+    }
+}
@@ -0,0 +1,54 @@
+package passoff;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.SpellCorrector;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchTest {
+
+    private SpellCorrector corrector;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        corrector = new SpellCorrector();
+        corrector.useDictionary("words.txt");
+    }
+
+    @Test
+    @DisplayName("Results In Input Order")
+    public void testInputOrder() {
+        List<String> words = Arrays.asList("yaeh", "Yeah", "flobt", "zzzz", "YAEH", "yea", "flobt");
+        List<String> suggestions = corrector.suggestSimilarWords(words);
+        assertEquals(Arrays.asList("yeah", "yeah", "float", null, "yeah", "yea", "float"), suggestions);
+    }
+
+    @Test
+    @DisplayName("Same As One At A Time")
+    public void testSameAsSingle() {
+        String[] typos = {"yaeh", "yeaz", "flobt", "ye", "flot", "yeahss", "floaty", "zzzz", "flo", "yeahs"};
+        ArrayList<String> words = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            words.add(typos[i * 7 % typos.length]);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<String> suggestions = corrector.suggestSimilarWords(words, 2, pool);
+            for (int i = 0; i < words.size(); i++) {
+                assertEquals(corrector.suggestSimilarWord(words.get(i)), suggestions.get(i), "Incorrect suggestion for " + words.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(corrector.suggestSimilarWords(new ArrayList<>()).isEmpty(), "Empty batch gave suggestions");
+    }
+}
@@ -0,0 +1,139 @@
+package passoff;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.CompactTrie;
+import spell.ITrie;
+import spell.SpellCorrector;
+import spell.Trie;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactTrieTest {
+
+    private static final String trieString = "baboon\ncar\ncares\ncaress\n";
+    private CompactTrie compactTrie;
+    private CompactTrie compactTrie2;
+    private ITrie trie;
+
+    @BeforeEach
+    public void setup() {
+        compactTrie = new CompactTrie();
+        compactTrie2 = new CompactTrie();
+        trie = new Trie();
+    }
+
+    @Test
+    @DisplayName("Counts Match Trie")
+    public void testCounts() {
+        assertEquals(0, compactTrie.getWordCount(), "Incorrect word count on empty trie");
+        assertEquals(1, compactTrie.getNodeCount(), "Incorrect node count on empty trie");
+        add("cares");
+        assertEquals(6, compactTrie.getNodeCount(), "Incorrect node count after 1 add");
+        add("caress");
+        add("baboon");
+        add("car");
+        add("car");
+        assertEquals(trie.getNodeCount(), compactTrie.getNodeCount(), "Node count differs from Trie");
+        assertEquals(trie.getWordCount(), compactTrie.getWordCount(), "Word count differs from Trie");
+    }
+
+    @Test
+    @DisplayName("Find Testing")
+    public void testFind() {
+        add("cares");
+        add("caress");
+        add("baboon");
+        add("car");
+        add("car");
+        assertEquals(2, compactTrie.find("car").getValue(), "Incorrect frequency for \"car\"");
+        assertEquals(1, compactTrie.find("CARESS").getValue(), "Upper case word not found");
+        assertNull(compactTrie.find("ca"), "Found \"ca\" (prefix of first word) (should have returned null)");
+        assertNull(compactTrie.find("caresses"), "Found \"caresses\" (should have returned null)");
+        assertNull(compactTrie.find("zebra"), "Found word with missing first letter");
+    }
+
+    @Test
+    @DisplayName("Pack Testing")
+    public void testPack() {
+        add("cares");
+        add("caress");
+        add("baboon");
+        add("car");
+        compactTrie.pack();
+        assertNotNull(compactTrie.find("caress"), "Word not found after pack");
+        assertNull(compactTrie.find("care"), "Found \"care\" after pack (should have returned null)");
+        assertEquals(trieString, compactTrie.toString(), "Words changed by pack");
+
+        add("cab");
+        add("bat");
+        assertNotNull(compactTrie.find("cab"), "Word added after pack not found");
+        assertNotNull(compactTrie.find("baboon"), "Word added before pack not found");
+        assertEquals(trie.getNodeCount(), compactTrie.getNodeCount(), "Node count differs from Trie");
+    }
+
+    @Test
+    @DisplayName("Non-Letters Packed and Unpacked")
+    public void testNonLetters() {
+        add("cpt");
+        add("pp");
+        add("cat");
+        for (boolean packed : new boolean[] {false, true}) {
+            if (packed) {
+                compactTrie.pack();
+            }
+            assertNull(compactTrie.find("c0t"), "Found \"c0t\" with packed " + packed);
+            assertNull(compactTrie.find("c't"), "Found \"c't\" with packed " + packed);
+            assertNull(compactTrie.find("c-t"), "Found \"c-t\" with packed " + packed);
+            assertThrows(ArrayIndexOutOfBoundsException.class, () -> compactTrie.add("p0"),
+                    "Added a word with a digit with packed " + packed);
+            assertEquals(1, compactTrie.find("pp").getValue(), "Adding \"p0\" changed \"pp\" with packed " + packed);
+            assertEquals(3, compactTrie.getWordCount(), "Incorrect word count with packed " + packed);
+        }
+    }
+
+    @Test
+    @DisplayName("Equals and Hash Code Testing")
+    public void testEquals() {
+        add("cares");
+        add("baboon");
+        compactTrie2.add("baboon");
+        assertNotEquals(compactTrie2, compactTrie, "Unequal tries found equal");
+        compactTrie2.add("cares");
+        assertEquals(compactTrie2, compactTrie, "Tries of different construction history found unequal");
+        assertEquals(compactTrie2.hashCode(), compactTrie.hashCode(), "Equal tries return unequal hashCodes");
+        compactTrie2.add("cares");
+        assertNotEquals(compactTrie2, compactTrie, "Tries with different frequencies found equal");
+        assertNotEquals(trie, compactTrie, "CompactTrie equal to a Trie");
+    }
+
+    @Test
+    @DisplayName("To String Testing")
+    public void testToString() {
+        add("caress");
+        add("car");
+        add("cares");
+        add("baboon");
+        add("car");
+        assertEquals(trieString, compactTrie.toString(), "Words not listed alphabetically");
+    }
+
+    @Test
+    @DisplayName("Spell Corrector Over CompactTrie")
+    public void testSpellCorrector() throws IOException {
+        SpellCorrector corrector = new SpellCorrector(new CompactTrie());
+        corrector.useDictionary("words.txt");
+        assertEquals("yeah", corrector.suggestSimilarWord("yaeh"));
+        assertEquals("float", corrector.suggestSimilarWord("flobt"));
+        assertEquals("yea", corrector.suggestSimilarWord("ye"));
+        assertNull(corrector.suggestSimilarWord("zzzz"));
+    }
+
+    private void add(String word) {
+        compactTrie.add(word);
+        trie.add(word);
+    }
+}
@@ -0,0 +1,89 @@
+package passoff;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.SpellCorrector;
+import spell.Trie;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompletionTest {
+
+    private SpellCorrector corrector;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        corrector = new SpellCorrector();
+        corrector.useDictionary("words.txt");
+    }
+
+    @Test
+    @DisplayName("Most Frequent Completions")
+    public void testComplete() {
+        assertEquals(Arrays.asList("yeah", "yeahs", "yea"), corrector.complete("y", 5));
+        assertEquals(Arrays.asList("yeah", "yeahs"), corrector.complete("YEAH", 5));
+        assertEquals(Arrays.asList("flo", "floas"), corrector.complete("fl", 2));
+        assertTrue(corrector.complete("x", 3).isEmpty(), "Completed a prefix of no word");
+        assertTrue(corrector.complete("floaty", 3).isEmpty(), "Completed a prefix of no word");
+    }
+
+    @Test
+    @DisplayName("Completions Follow New Words")
+    public void testAdd() {
+        corrector.add("float");
+        corrector.add("float");
+        assertEquals(Arrays.asList("float", "flo"), corrector.complete("fl", 2));
+        corrector.add("flock");
+        assertEquals(Arrays.asList("float", "flo", "floas", "flock"), corrector.complete("flo", 4));
+        assertEquals(Arrays.asList("flock"), corrector.complete("floc", 4));
+    }
+
+    @Test
+    @DisplayName("Equal Frequencies Alphabetically Beyond a to z")
+    public void testAlphabetical() {
+        Trie trie = new Trie();
+        for (char c = 'a'; c <= 'j'; c++) {
+            trie.add("x" + c);
+        }
+        trie.add("x\u00e9");
+        trie.add("x\u00e7");
+        SpellCorrector extended = new SpellCorrector(trie);
+        assertEquals(Arrays.asList("xa", "xb", "xc", "xd", "xe", "xf", "xg", "xh", "xi", "xj", "x\u00e7"),
+                extended.complete("x", 11));
+        trie.prepareCompletions();
+        assertEquals(Arrays.asList("xa", "xb", "xc", "xd", "xe", "xf", "xg", "xh", "xi", "xj"),
+                extended.complete("x", 10));
+    }
+
+    @Test
+    @DisplayName("Prepared Completions Match A Full Search")
+    public void testPrepared() {
+        Random random = new Random(17);
+        Trie prepared = new Trie();
+        Trie searched = new Trie();
+        for (int i = 0; i < 20000; i++) {
+            if (i == 10000) {
+                prepared.prepareCompletions();
+            }
+            char[] letters = new char[1 + random.nextInt(6)];
+            for (int j = 0; j < letters.length; j++) {
+                letters[j] = (char) ('a' + random.nextInt(4));
+            }
+            String word = new String(letters);
+            prepared.add(word);
+            searched.add(word);
+        }
+
+        for (String prefix : new String[] {"", "a", "b", "ab", "ccd", "dddd"}) {
+            for (int k = 1; k <= 12; k++) {
+                assertEquals(searched.complete(prefix, k), prepared.complete(prefix, k),
+                        "Different top " + k + " completions of '" + prefix + "'");
+            }
+        }
+    }
+}
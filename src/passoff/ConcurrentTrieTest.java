@@ -0,0 +1,133 @@
+package passoff;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.ConcurrentTrie;
+import spell.INode;
+import spell.SpellCorrector;
+import spell.Trie;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentTrieTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int WORDS_PER_WRITER = 20000;
+    private static final long TIMEOUT_MILLIS = 30000;
+
+    @Test
+    @DisplayName("Same Trie As Sequential Adds With Readers Running")
+    public void testConcurrentAdds() throws InterruptedException {
+        String[] words = RandomWords.create(42, 2000, 1, 8, 6);
+        ConcurrentTrie concurrentTrie = new ConcurrentTrie();
+        Trie trie = new Trie();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        CountDownLatch writersDone = new CountDownLatch(WRITERS);
+
+        ArrayList<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < WRITERS; t++) {
+            Random random = new Random(t);
+            String[] added = new String[WORDS_PER_WRITER];
+            for (int i = 0; i < added.length; i++) {
+                added[i] = words[random.nextInt(words.length)];
+                trie.add(added[i]);
+            }
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (String word : added) {
+                        concurrentTrie.add(word);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    writersDone.countDown();
+                }
+            }));
+        }
+        for (int r = 0; r < READERS; r++) {
+            int offset = r * words.length / READERS;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    int[] lastSeen = new int[words.length];
+                    while (writersDone.getCount() > 0 && failure.get() == null) {
+                        for (int n = 0; n < words.length; n++) {
+                            int i = (offset + n) % words.length;
+                            INode node = concurrentTrie.find(words[i]);
+                            int value = (node == null) ? 0 : node.getValue();
+                            if (node != null && value == 0) {
+                                throw new AssertionError("Found " + words[i] + " with a frequency of zero");
+                            }
+                            if (value < lastSeen[i]) {
+                                throw new AssertionError("Frequency of " + words[i] + " went down");
+                            }
+                            lastSeen[i] = value;
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            assertFalse(thread.isAlive(), "Thread still running after " + TIMEOUT_MILLIS + " ms");
+        }
+
+        assertNull(failure.get(), () -> "Thread failed: " + failure.get());
+        assertEquals(trie.getWordCount(), concurrentTrie.getWordCount(), "Incorrect word count");
+        assertEquals(trie.getNodeCount(), concurrentTrie.getNodeCount(), "Incorrect node count");
+        assertEquals(trie.toString(), concurrentTrie.toString(), "Different words after concurrent adds");
+        for (String word : words) {
+            INode node = trie.find(word);
+            if (node != null) {
+                assertEquals(node.getValue(), concurrentTrie.find(word).getValue(), "Incorrect frequency for " + word);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Non-Letters Not Found")
+    public void testNonLetters() {
+        ConcurrentTrie concurrentTrie = new ConcurrentTrie();
+        concurrentTrie.add("yeah");
+        assertNull(concurrentTrie.find("ye-ah"), "Found a word with a hyphen");
+        assertNull(concurrentTrie.find("don't"), "Found a word with an apostrophe");
+        assertThrows(IllegalArgumentException.class, () -> concurrentTrie.add("don't"), "Added a word with an apostrophe");
+        assertThrows(IllegalArgumentException.class, () -> concurrentTrie.add("\u00e9t\u00e9"), "Added a word with accents");
+        assertEquals(1, concurrentTrie.getWordCount(), "Rejected word counted");
+        assertEquals(5, concurrentTrie.getNodeCount(), "Rejected word left nodes behind");
+
+        SpellCorrector corrector = new SpellCorrector(concurrentTrie);
+        assertEquals("yeah", corrector.suggestSimilarWord("yea'h"));
+        assertNull(corrector.suggestSimilarWord("don't"));
+    }
+
+    @Test
+    @DisplayName("Learning Words While Serving")
+    public void testLearnWords() throws IOException {
+        SpellCorrector corrector = new SpellCorrector(new ConcurrentTrie());
+        corrector.useDictionary("words.txt");
+        assertEquals("float", corrector.suggestSimilarWord("flobt"));
+
+        corrector.add("flobt");
+        assertEquals("flobt", corrector.suggestSimilarWord("flobt"));
+        assertEquals("yeah", corrector.suggestSimilarWord("yaeh"));
+    }
+}
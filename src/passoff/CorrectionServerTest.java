@@ -0,0 +1,81 @@
+package passoff;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.CorrectionServer;
+import spell.SpellCorrector;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CorrectionServerTest {
+
+    private CorrectionServer server;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.useDictionary("words.txt");
+        server = new CorrectionServer(corrector, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2);
+    }
+
+    @AfterEach
+    public void teardown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Pipelined Requests Answered In Order")
+    public void testPipelining() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), ((InetSocketAddress)server.getAddress()).getPort())) {
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+
+            StringBuilder requests = new StringBuilder();
+            for (int i = 0; i < 200; i++) {
+                requests.append((i % 2 == 0) ? "Yeah yeahh\tzzzzzzzz\n" : "\r\n");
+            }
+            out.write(requests.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            for (int i = 0; i < 200; i++) {
+                assertEquals((i % 2 == 0) ? "yeah yeah -" : "", in.readLine(), "Incorrect response to request " + i);
+            }
+
+            socket.shutdownOutput();
+            assertNull(in.readLine(), "Connection stayed open after the client finished");
+        }
+    }
+
+    @Test
+    @DisplayName("Requests Split Across Writes or Left Unterminated")
+    public void testPartialLines() throws IOException, InterruptedException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), ((InetSocketAddress)server.getAddress()).getPort())) {
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+
+            out.write("ye".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Thread.sleep(50);
+            out.write("ahh\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            assertEquals("yeah", in.readLine(), "Incorrect response to a request sent in parts");
+
+            out.write("yea\nzzzzzzzz yeahh".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            socket.shutdownOutput();
+            assertEquals("yea", in.readLine(), "Incorrect response before an unterminated request");
+            assertEquals("- yeah", in.readLine(), "Unterminated last request not answered");
+            assertNull(in.readLine(), "Connection stayed open after the client finished");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package passoff;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.Dawg;
+import spell.SpellCorrector;
+import spell.Trie;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DawgTest {
+
+    private static final String[] WORDS = {
+            "walk", "walks", "walking", "walked", "talk", "talks", "talking", "talked", "car", "cares", "caress"
+    };
+    private Trie trie;
+
+    @BeforeEach
+    public void setup() {
+        trie = new Trie();
+        for (String word : WORDS) {
+            trie.add(word);
+        }
+        trie.add("talking");
+        trie.add("car");
+        trie.add("car");
+    }
+
+    @Test
+    @DisplayName("Same Words and Frequencies")
+    public void testSameWords() {
+        Dawg dawg = Dawg.minimize(trie);
+        assertEquals(trie.toString(), dawg.toString(), "Minimized dictionary lists different words");
+        assertEquals(trie.getWordCount(), dawg.getWordCount(), "Incorrect word count after minimizing");
+        for (String word : WORDS) {
+            assertEquals(trie.find(word).getValue(), dawg.find(word).getValue(), "Incorrect frequency for " + word);
+        }
+        assertNull(dawg.find("walkin"), "Found prefix of a word (should have returned null)");
+        assertNull(dawg.find("talkeds"), "Found word that was never added");
+        assertEquals(trie, dawg.toTrie(), "Trie rebuilt from minimized dictionary is different");
+    }
+
+    @Test
+    @DisplayName("Shared Suffixes")
+    public void testSharedSuffixes() {
+        Dawg dawg = Dawg.minimize(trie);
+        assertTrue(dawg.getNodeCount() < trie.getNodeCount(), "Minimizing did not reduce the node count");
+        assertEquals(Dawg.minimize(trie), dawg, "Minimizing the same trie twice gave unequal results");
+
+        dawg.add("walks");
+        assertEquals(2, dawg.find("walks").getValue(), "Incrementing a word did not change its frequency");
+        assertEquals(1, dawg.find("talks").getValue(), "Incrementing a word changed a word sharing its suffix");
+        assertThrows(UnsupportedOperationException.class, () -> dawg.add("stalk"), "Added a new word to a minimized dictionary");
+    }
+
+    @Test
+    @DisplayName("Spell Corrector Over Minimized Dictionary")
+    public void testSpellCorrector() throws IOException {
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.setMinimizeDictionary(true);
+        corrector.useDictionary("words.txt");
+        assertEquals("yeah", corrector.suggestSimilarWord("yaeh"));
+        assertEquals("yeah", corrector.suggestSimilarWord("yeaz"));
+        assertEquals("float", corrector.suggestSimilarWord("flobt"));
+        corrector.useDictionary("word.txt");
+        assertEquals("yea", corrector.suggestSimilarWord("ye"));
+    }
+}
@@ -0,0 +1,78 @@
+package passoff;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.DictionaryFile;
+import spell.MappedTrie;
+import spell.SpellCorrector;
+import spell.Trie;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictionaryFileTest {
+
+    private static final String COMPILED_FILENAME = "words.dict";
+    private Trie trie;
+
+    @BeforeEach
+    public void setup() {
+        trie = new Trie();
+        trie.add("cares");
+        trie.add("caress");
+        trie.add("baboon");
+        trie.add("car");
+        trie.add("car");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        new File(COMPILED_FILENAME).delete();
+    }
+
+    @Test
+    @DisplayName("Round Trip Testing")
+    public void testRoundTrip() throws IOException {
+        DictionaryFile.write(trie, COMPILED_FILENAME);
+        MappedTrie mappedTrie = DictionaryFile.map(COMPILED_FILENAME);
+        assertEquals(trie.getNodeCount(), mappedTrie.getNodeCount(), "Incorrect node count after mapping");
+        assertEquals(trie.getWordCount(), mappedTrie.getWordCount(), "Incorrect word count after mapping");
+        assertEquals(trie.toString(), mappedTrie.toString(), "Mapped dictionary lists different words");
+        assertEquals(2, mappedTrie.find("car").getValue(), "Incorrect frequency for \"car\"");
+        assertNull(mappedTrie.find("care"), "Found \"care\" (prefix of a word) (should have returned null)");
+        assertNull(mappedTrie.find("zebra"), "Found word that was never added");
+        assertEquals(trie, Trie.copyOf(mappedTrie), "Trie copied from mapped dictionary is different");
+        assertThrows(UnsupportedOperationException.class, () -> mappedTrie.add("car"), "Added to a read-only dictionary");
+    }
+
+    @Test
+    @DisplayName("Rejects Other Files")
+    public void testRejectsOtherFiles() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(COMPILED_FILENAME)) {
+            out.write("yea yeah yea yea yea".getBytes());
+        }
+        assertThrows(IOException.class, () -> DictionaryFile.map(COMPILED_FILENAME), "Mapped a text file");
+    }
+
+    @Test
+    @DisplayName("Spell Corrector Over Compiled Dictionary")
+    public void testSpellCorrector() throws IOException {
+        SpellCorrector compiler = new SpellCorrector();
+        compiler.useDictionary("words.txt");
+        compiler.compileDictionary(COMPILED_FILENAME);
+
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.useCompiledDictionary(COMPILED_FILENAME);
+        assertEquals("yeah", corrector.suggestSimilarWord("yaeh"));
+        assertEquals("yeah", corrector.suggestSimilarWord("yeaz"));
+        assertEquals("float", corrector.suggestSimilarWord("flobt"));
+        assertEquals("yea", corrector.suggestSimilarWord("YEA"));
+        assertEquals("yeah", corrector.suggestSimilarWord("yea'h"));
+        assertNull(corrector.suggestSimilarWord("don't"));
+    }
+}
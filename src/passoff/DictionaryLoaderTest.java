@@ -0,0 +1,107 @@
+package passoff;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.CompactTrie;
+import spell.DictionaryLoader;
+import spell.SpellCorrector;
+import spell.Trie;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictionaryLoaderTest {
+
+    private static final String WORDS_FILENAME = "words.txt";
+    private static final String GZIP_FILENAME = "words.txt.gz";
+    private static final String MIXED_FILENAME = "mixed.txt";
+    private static final String LARGE_FILENAME = "large.txt";
+
+    @AfterEach
+    public void cleanup() {
+        new File(GZIP_FILENAME).delete();
+        new File(MIXED_FILENAME).delete();
+        new File(LARGE_FILENAME).delete();
+    }
+
+    @Test
+    @DisplayName("Plain Text Dictionary")
+    public void testPlainText() throws IOException {
+        Trie trie = new Trie();
+        DictionaryLoader loader = new DictionaryLoader(trie);
+        loader.load(WORDS_FILENAME);
+        assertEquals(14, loader.getTokenCount(), "Incorrect token count");
+        assertEquals(6, trie.getWordCount(), "Incorrect word count");
+        assertEquals(4, trie.find("yeah").getValue(), "Incorrect frequency for \"yeah\"");
+        assertEquals(new File(WORDS_FILENAME).length(), loader.getByteCount(), "Not every byte was read");
+    }
+
+    @Test
+    @DisplayName("Gzip Dictionary")
+    public void testGzip() throws IOException {
+        try (GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(GZIP_FILENAME))) {
+            out.write(Files.readAllBytes(Paths.get(WORDS_FILENAME)));
+        }
+        Trie plain = new Trie();
+        new DictionaryLoader(plain).load(WORDS_FILENAME);
+        Trie compressed = new Trie();
+        new DictionaryLoader(compressed).load(GZIP_FILENAME);
+        assertEquals(plain, compressed, "Compressed dictionary loaded differently");
+    }
+
+    @Test
+    @DisplayName("Apostrophes, Hyphens and Digits Inside Words")
+    public void testNonLetters() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(MIXED_FILENAME)) {
+            out.write("Yea,yeah\t\r\n\nYEAH  flo-at 42 don't e-mail mp3 'end' -- -".getBytes());
+        }
+        Trie trie = new Trie();
+        DictionaryLoader loader = new DictionaryLoader(trie);
+        loader.load(MIXED_FILENAME);
+        assertEquals("42\ndon't\ne-mail\nend\nflo-at\nmp3\nyea\nyeah\n", trie.toString(),
+                "Incorrect words after splitting on punctuation");
+        assertEquals(2, trie.find("yeah").getValue(), "Upper case word counted separately");
+        assertEquals(9, loader.getTokenCount(), "Counted dashes on their own as words");
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.useDictionary(MIXED_FILENAME);
+        assertEquals("don't", corrector.suggestSimilarWord("dont"));
+
+        CompactTrie lettersOnly = new CompactTrie();
+        new DictionaryLoader(lettersOnly).load(MIXED_FILENAME);
+        assertEquals("at\ndon\ne\nend\nflo\nmail\nmp\nt\nyea\nyeah\n", lettersOnly.toString(),
+                "Letters-only trie kept non-letters in words");
+    }
+
+    @Test
+    @DisplayName("Parallel Load Matches Sequential Load")
+    public void testParallel() throws IOException {
+        try (Writer out = new BufferedWriter(new FileWriter(LARGE_FILENAME))) {
+            for (int i = 0; i < 400000; i++) {
+                out.write(Integer.toString(i * 7919, 26).replace('0', 'z'));
+                out.write((i % 13 == 0) ? "\r\n" : " ");
+            }
+        }
+        Trie sequential = new Trie();
+        DictionaryLoader sequentialLoader = new DictionaryLoader(sequential);
+        sequentialLoader.load(LARGE_FILENAME);
+
+        Trie parallel = new Trie();
+        DictionaryLoader parallelLoader = new DictionaryLoader(parallel);
+        parallelLoader.loadParallel(LARGE_FILENAME, new ForkJoinPool(4));
+        assertEquals(sequential, parallel, "Parallel load built a different trie");
+        assertEquals(sequential.getWordCount(), parallel.getWordCount(), "Incorrect word count after parallel load");
+        assertEquals(sequential.getNodeCount(), parallel.getNodeCount(), "Incorrect node count after parallel load");
+        assertEquals(sequentialLoader.getTokenCount(), parallelLoader.getTokenCount(), "Incorrect token count after parallel load");
+    }
+}
@@ -0,0 +1,131 @@
+package passoff;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.SpellCorrector;
+import spell.Suggestion;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EditDistanceTest {
+
+    private SpellCorrector corrector;
+
+    @BeforeEach
+    public void setup() {
+        corrector = new SpellCorrector();
+        corrector.add("abcdefgh");
+        corrector.add("zebra");
+        corrector.add("zebra");
+    }
+
+    @Test
+    @DisplayName("Distances 3 and 4")
+    public void testFarDistances() {
+        assertNull(corrector.suggestSimilarWord("abcxyzgh"), "Found a word 3 edits away within 2");
+        assertEquals("abcdefgh", corrector.suggestSimilarWord("abcxyzgh", 3));
+        assertEquals("abcdefgh", corrector.suggestSimilarWord("abcxyzgh", 4));
+
+        assertNull(corrector.suggestSimilarWord("axyzwfgh", 3), "Found a word 4 edits away within 3");
+        assertEquals("abcdefgh", corrector.suggestSimilarWord("axyzwfgh", 4));
+        assertEquals("abcdefgh", corrector.suggestSimilarWord("bacedfhg", 3), "Transpositions not counted as one edit");
+
+        assertEquals(Arrays.asList(new Suggestion("zebra", 3, 2), new Suggestion("abcdefgh", 4, 1)),
+                corrector.suggest("zbcdebra", 2, 4));
+        assertEquals(Arrays.asList(new Suggestion("zebra", 3, 2)), corrector.suggest("zbcdebra", 2, 3));
+    }
+
+    @Test
+    @DisplayName("Same Suggestions As A Brute-Force Search")
+    public void testBruteForce() {
+        Random random = new Random(1);
+        SpellCorrector generated = new SpellCorrector();
+        TreeMap<String, Integer> frequencies = new TreeMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String word = RandomWords.next(random, 1, 7, 5);
+            generated.add(word);
+            frequencies.merge(word, 1, Integer::sum);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            String query = RandomWords.next(random, 1, 7, 5);
+            String expected = null;
+            int expectedDistance = 3;
+            int expectedFrequency = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int distance = distance(query, entry.getKey());
+                if (distance < expectedDistance || (distance == expectedDistance && entry.getValue() > expectedFrequency)) {
+                    expected = entry.getKey();
+                    expectedDistance = distance;
+                    expectedFrequency = entry.getValue();
+                }
+            }
+            assertEquals(expected, generated.suggestSimilarWord(query), "Incorrect suggestion for " + query);
+        }
+    }
+
+    @Test
+    @DisplayName("Edits Between Transposed Characters")
+    public void testUnrestricted() {
+        SpellCorrector transposed = new SpellCorrector();
+        transposed.add("abc");
+        assertEquals(2, distance("ca", "abc"), "Reference distance restricted to adjacent transpositions");
+        assertEquals("abc", transposed.suggestSimilarWord("ca"), "Insertion between transposed characters not counted");
+        assertEquals(Arrays.asList(new Suggestion("abc", 2, 1)), transposed.suggest("ca", 1));
+    }
+
+    @Test
+    @DisplayName("Distance Out Of Range")
+    public void testBounds() {
+        assertThrows(IllegalArgumentException.class, () -> corrector.suggestSimilarWord("zebra", 0));
+        assertThrows(IllegalArgumentException.class, () -> corrector.suggestSimilarWord("zebra", 5));
+        assertThrows(IllegalArgumentException.class, () -> corrector.suggest("zebra", 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> corrector.suggest("zebra", 1, 5));
+        assertEquals("zebra", corrector.suggestSimilarWord("zebra", 1));
+        assertEquals("zebra", corrector.suggestSimilarWord("zebra", 4));
+    }
+
+    /**
+     * Unrestricted Damerau-Levenshtein distance, where characters may still be
+     * edited after being transposed, computed over the full table. last holds
+     * the row where each character of a was last seen.
+     */
+    private int distance(String a, String b) {
+        int max = a.length() + b.length();
+        int[][] d = new int[a.length() + 2][b.length() + 2];
+        d[0][0] = max;
+        for (int i = 0; i <= a.length(); i++) {
+            d[i + 1][0] = max;
+            d[i + 1][1] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j + 1] = max;
+            d[1][j + 1] = j;
+        }
+        Map<Character, Integer> last = new HashMap<>();
+        for (int i = 1; i <= a.length(); i++) {
+            int lastMatch = 0;
+            for (int j = 1; j <= b.length(); j++) {
+                int k = last.getOrDefault(b.charAt(j - 1), 0);
+                int l = lastMatch;
+                int cost = 1;
+                if (a.charAt(i - 1) == b.charAt(j - 1)) {
+                    cost = 0;
+                    lastMatch = j;
+                }
+                d[i + 1][j + 1] = Math.min(d[i][j] + cost, Math.min(d[i + 1][j], d[i][j + 1]) + 1);
+                d[i + 1][j + 1] = Math.min(d[i + 1][j + 1], d[k][l] + (i - k - 1) + 1 + (j - l - 1));
+            }
+            last.put(a.charAt(i - 1), i);
+        }
+
+        return d[a.length() + 1][b.length() + 1];
+    }
+}
@@ -0,0 +1,67 @@
+package passoff;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.CorrectorMetrics;
+import spell.LatencyHistogram;
+import spell.MetricsSnapshot;
+import spell.RecordingMetrics;
+import spell.SpellCorrector;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @Test
+    @DisplayName("Outcomes, Phases and Search Work")
+    public void testRecording() throws IOException {
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.useDictionary("words.txt");
+        RecordingMetrics metrics = new RecordingMetrics();
+        corrector.setMetrics(metrics);
+
+        corrector.suggestSimilarWord("yeah");
+        corrector.suggestSimilarWord("yeahh");
+        corrector.suggestSimilarWord("yxaz");
+        corrector.suggestSimilarWord("zzzzzzzz");
+        MetricsSnapshot snapshot = metrics.snapshot();
+
+        assertEquals(4, snapshot.getSuggestionCount(), "Incorrect number of calls");
+        assertEquals(4, snapshot.getLatency(CorrectorMetrics.Phase.LOOKUP).getCount(), "Incorrect number of lookups");
+        assertEquals(3, snapshot.getSearchCount(), "Searched for a word in the dictionary");
+        assertEquals(1, snapshot.getOutcomeCount(CorrectorMetrics.Outcome.EXACT), "Incorrect exact count");
+        assertEquals(1, snapshot.getOutcomeCount(CorrectorMetrics.Outcome.DISTANCE_1), "Incorrect distance 1 count");
+        assertEquals(1, snapshot.getOutcomeCount(CorrectorMetrics.Outcome.DISTANCE_2), "Incorrect distance 2 count");
+        assertEquals(1, snapshot.getOutcomeCount(CorrectorMetrics.Outcome.NO_SUGGESTION), "Incorrect no suggestion count");
+        assertTrue(snapshot.getNodesVisited() > 0, "No trie nodes counted");
+        assertTrue(snapshot.getMatchesFound() >= 2, "Too few matches counted");
+        assertTrue(snapshot.getLatency(CorrectorMetrics.Phase.TOTAL).getMax() > 0, "No latency recorded");
+
+        corrector.setMetrics(null);
+        corrector.suggestSimilarWord("yeah");
+        assertEquals(4, metrics.snapshot().getSuggestionCount(), "Recorded after metrics were removed");
+        assertEquals(0, corrector.getMetrics().snapshot().getSuggestionCount(), "No-op metrics recorded a call");
+    }
+
+    @Test
+    @DisplayName("Histogram Percentiles Within An Eighth")
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100000, snapshot.getCount(), "Incorrect count");
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9, 100}) {
+            double expected = percentile * 1000;
+            long actual = snapshot.getValueAtPercentile(percentile);
+            assertTrue(actual >= expected && actual <= expected * 1.125,
+                    "p" + percentile + " was " + actual + ", expected about " + expected);
+        }
+        assertTrue(snapshot.getMax() >= 100000 && snapshot.getMax() <= 112500, "Incorrect maximum");
+        assertEquals(0, new LatencyHistogram().snapshot().getValueAtPercentile(99), "Empty histogram has a value");
+    }
+}
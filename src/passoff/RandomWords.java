@@ -0,0 +1,37 @@
+package passoff;
+
+import java.util.Random;
+
+/**
+ * Seeded random words for the tests that compare tries and searches over many
+ * generated words. Drawing from only the first few letters of the alphabet
+ * makes shared prefixes, repeated words and close matches common.
+ */
+final class RandomWords {
+
+    private RandomWords() {
+    }
+
+    /**
+     * Returns a word of minLength to maxLength characters, each one of the
+     * first letters letters of the alphabet.
+     */
+    static String next(Random random, int minLength, int maxLength, int letters) {
+        char[] word = new char[minLength + random.nextInt(maxLength - minLength + 1)];
+        for (int j = 0; j < word.length; j++) {
+            word[j] = (char) ('a' + random.nextInt(letters));
+        }
+
+        return new String(word);
+    }
+
+    static String[] create(long seed, int count, int minLength, int maxLength, int letters) {
+        Random random = new Random(seed);
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = next(random, minLength, maxLength, letters);
+        }
+
+        return words;
+    }
+}
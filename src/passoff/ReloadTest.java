@@ -0,0 +1,71 @@
+package passoff;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.SpellCorrector;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReloadTest {
+
+    @Test
+    @DisplayName("Reload Replaces Dictionary")
+    public void testReload() throws IOException, InterruptedException, ExecutionException {
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.useDictionary("words.txt");
+        assertEquals("float", corrector.suggestSimilarWord("flobt"));
+
+        corrector.reloadDictionary("word.txt").get();
+        assertEquals("yea", corrector.suggestSimilarWord("ye"));
+        assertNull(corrector.suggestSimilarWord("flobt"), "Words from the old dictionary are still suggested");
+    }
+
+    @Test
+    @DisplayName("Failed Reload Keeps Old Dictionary")
+    public void testFailedReload() throws IOException, InterruptedException {
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.useDictionary("words.txt");
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> corrector.reloadDictionary("missing.txt").get());
+        assertTrue(e.getCause() instanceof IOException, "Reload did not fail with an IOException");
+        assertEquals("float", corrector.suggestSimilarWord("flobt"));
+    }
+
+    @Test
+    @DisplayName("Queries During Reloads")
+    public void testQueriesDuringReload() throws Exception {
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.useDictionary("words.txt");
+        AtomicBoolean reloading = new AtomicBoolean(true);
+        ExecutorService queries = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> queried = queries.submit(() -> {
+                int count = 0;
+                while (reloading.get()) {
+                    String suggestion = corrector.suggestSimilarWord("yaeh");
+                    if (!"yeah".equals(suggestion)) {
+                        throw new AssertionError("Suggested " + suggestion + " during a reload");
+                    }
+                    count++;
+                }
+
+                return count;
+            });
+            for (int i = 0; i < 50; i++) {
+                corrector.reloadDictionary("words.txt").get();
+            }
+            reloading.set(false);
+            assertTrue(queried.get() > 0, "No queries ran during the reloads");
+        } finally {
+            queries.shutdown();
+        }
+    }
+}
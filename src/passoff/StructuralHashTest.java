@@ -0,0 +1,79 @@
+package passoff;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.DictionaryLoader;
+import spell.Trie;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StructuralHashTest {
+
+    @Test
+    @DisplayName("Counts And Hash Follow Every Way Of Building")
+    public void testBuilds() throws IOException {
+        String[] words = RandomWords.create(20, 3000, 1, 7, 5);
+        for (int i = 0; i < words.length; i += 50) {
+            words[i] = '\u00e9' + words[i].substring(1);
+        }
+
+        Trie forward = new Trie();
+        Trie backward = new Trie();
+        Trie first = new Trie();
+        Trie second = new Trie();
+        Trie extended = new Trie();
+        extended.add("\u00f1");
+        for (int i = 0; i < words.length; i++) {
+            forward.add(words[i]);
+            backward.add(words[words.length - 1 - i]);
+            (i % 3 == 0 ? first : second).add(words[i]);
+        }
+        first.merge(second);
+        Trie copy = Trie.copyOf(forward);
+
+        for (Trie trie : new Trie[] {backward, first, copy}) {
+            assertEquals(forward, trie, "Equal tries found unequal");
+            assertEquals(forward.hashCode(), trie.hashCode(), "Equal tries hash differently");
+            assertEquals(trie.getRoot().getNumChildren() + 1, trie.getNodeCount(), "Node count out of date");
+        }
+
+        extended.merge(forward);
+        extended.add("\u00f1");
+        assertEquals(forward.getNodeCount() + 1, extended.getNodeCount(), "Node count out of date after remapping merge");
+        assertEquals(extended.getRoot().getNumChildren() + 1, extended.getNodeCount(), "Node count out of date after remapping merge");
+
+        Trie loaded = new Trie();
+        new DictionaryLoader(loaded).load("words.txt");
+        Trie fewer = Trie.copyOf(loaded);
+        loaded.add("yeahss");
+        assertNotEquals(loaded.hashCode(), fewer.hashCode(), "New word did not change the hash");
+        assertNotEquals(loaded, fewer, "Tries with different words found equal");
+        fewer.add("yeahss");
+        assertEquals(loaded.hashCode(), fewer.hashCode(), "Equal tries hash differently");
+        assertEquals(loaded, fewer, "Equal tries found unequal");
+    }
+
+    @Test
+    @DisplayName("Frequencies Changed Through Nodes")
+    public void testIncrementValue() {
+        Trie added = new Trie();
+        Trie incremented = new Trie();
+        for (String word : new String[] {"car", "cares", "car", "baboon"}) {
+            added.add(word);
+        }
+        for (String word : new String[] {"car", "cares", "baboon"}) {
+            incremented.add(word);
+        }
+        assertNotEquals(added, incremented, "Tries with different frequencies found equal");
+
+        incremented.find("car").incrementValue();
+        assertEquals(added, incremented, "Equal tries found unequal");
+        assertEquals(added.hashCode(), incremented.hashCode(), "Equal tries hash differently");
+
+        incremented.find("baboon").incrementValue();
+        assertNotEquals(added, incremented, "Tries with different frequencies found equal");
+        assertNotEquals(incremented, added, "Tries with different frequencies found equal");
+    }
+}
@@ -0,0 +1,141 @@
+package passoff;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.INode;
+import spell.Node;
+import spell.SpellCorrector;
+import spell.Suggestion;
+import spell.Trie;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class SuggestTest {
+
+    private SpellCorrector corrector;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        corrector = new SpellCorrector();
+        corrector.useDictionary("words.txt");
+    }
+
+    @Test
+    @DisplayName("Ranked By Distance, Frequency, Then Alphabet")
+    public void testRanking() {
+        assertEquals(Arrays.asList(
+                new Suggestion("yeah", 0, 4),
+                new Suggestion("yeahs", 1, 4),
+                new Suggestion("yea", 1, 3)), corrector.suggest("Yeah", 5));
+        assertEquals(Arrays.asList(
+                new Suggestion("flo", 0, 1),
+                new Suggestion("floas", 2, 1)), corrector.suggest("flo", 2));
+        assertEquals(Arrays.asList(
+                new Suggestion("floas", 1, 1),
+                new Suggestion("flo", 2, 1),
+                new Suggestion("float", 2, 1)), corrector.suggest("flobs", 3, 2));
+        assertTrue(corrector.suggest("zzzz", 3).isEmpty(), "Suggested words for input with no close words");
+    }
+
+    @Test
+    @DisplayName("Bounded To k")
+    public void testBounded() {
+        List<Suggestion> all = corrector.suggest("yeaz", 10, 3);
+        for (int k = 1; k <= all.size(); k++) {
+            assertEquals(all.subList(0, k), corrector.suggest("yeaz", k, 3), "Top " + k + " differ from the full ranking");
+        }
+        assertEquals(corrector.suggestSimilarWord("yeaz"), corrector.suggest("yeaz", 1).get(0).getWord());
+        assertThrows(IllegalArgumentException.class, () -> corrector.suggest("yeaz", 0));
+    }
+
+    @Test
+    @DisplayName("Ties Go To The First Of The Most Frequent Words")
+    public void testTies() {
+        SpellCorrector ties = new SpellCorrector();
+        for (String word : new String[] {"bat", "cat", "cat", "hat", "hat", "rat"}) {
+            ties.add(word);
+        }
+        assertEquals("cat", ties.suggestSimilarWord("zat"));
+
+        Random random = new Random(21);
+        SpellCorrector generated = new SpellCorrector();
+        for (int i = 0; i < 5000; i++) {
+            generated.add(RandomWords.next(random, 2, 6, 6));
+        }
+        for (int i = 0; i < 500; i++) {
+            String word = RandomWords.next(random, 2, 6, 6);
+            List<Suggestion> best = generated.suggest(word, 1);
+            assertEquals(best.isEmpty() ? null : best.get(0).getWord(), generated.suggestSimilarWord(word),
+                    "Suggestion disagrees with the top ranked word for " + word);
+        }
+    }
+
+    @Test
+    @DisplayName("Subtree Maximum Frequencies Kept Up To Date")
+    public void testMaxFrequencies() {
+        Random random = new Random(14);
+        Trie first = new Trie();
+        Trie second = new Trie();
+        for (int i = 0; i < 4000; i++) {
+            (i % 2 == 0 ? first : second).add(RandomWords.next(random, 2, 6, 6));
+        }
+        checkMaxValues(first.getRoot());
+        first.merge(second);
+        checkMaxValues(first.getRoot());
+        checkMaxValues(Trie.copyOf(first).getRoot());
+
+        SpellCorrector pruned = new SpellCorrector(first);
+        first.add("zzzz");
+        assertEquals("zzzz", pruned.suggestSimilarWord("zzzzz"));
+        for (int i = 0; i < 50; i++) {
+            first.add("zzzzza");
+        }
+        checkMaxValues(first.getRoot());
+        assertEquals("zzzzza", pruned.suggestSimilarWord("zzzzz"), "Stale maximum frequency hid a more frequent word");
+    }
+
+    @Test
+    @DisplayName("Searches Allocate Only Their Result")
+    public void testAllocation() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "Allocation counter not available");
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean)threads;
+        long thread = Thread.currentThread().getId();
+        String[] queries = {"yeahh", "yaeh", "flobt", "zzzz", "yea", "floast"};
+        for (int i = 0; i < 2000; i++) {
+            corrector.suggestSimilarWord(queries[i % queries.length]);
+        }
+
+        long before = allocations.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 6000; i++) {
+            corrector.suggestSimilarWord(queries[i % queries.length]);
+        }
+        long perQuery = (allocations.getThreadAllocatedBytes(thread) - before) / 6000;
+        assertTrue(perQuery < 128, "Allocated " + perQuery + " bytes per query, more than the suggested word");
+    }
+
+    /**
+     * Checks every node's recorded maximum against the most frequent word
+     * actually below it, and returns that frequency.
+     */
+    private int checkMaxValues(Node node) {
+        int max = node.getValue();
+        for (INode child : node.getChildren()) {
+            if (child != null) {
+                max = Math.max(max, checkMaxValues((Node)child));
+            }
+        }
+        assertEquals(max, node.getMaxValue(), "Incorrect maximum frequency below a node");
+
+        return max;
+    }
+}
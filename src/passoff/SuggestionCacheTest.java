@@ -0,0 +1,89 @@
+package passoff;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.SpellCorrector;
+import spell.SuggestionCache;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SuggestionCacheTest {
+
+    @Test
+    @DisplayName("Hits, Misses and Negative Results")
+    public void testCounters() {
+        SuggestionCache cache = new SuggestionCache(100, SuggestionCache.Policy.LRU);
+        AtomicInteger searches = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("yeah", cache.get("yaeh", word -> { searches.incrementAndGet(); return "yeah"; }));
+            assertNull(cache.get("zzzz", word -> { searches.incrementAndGet(); return null; }));
+        }
+        assertEquals(2, searches.get(), "Cached words were searched again");
+        assertEquals(4, cache.getHitCount(), "Incorrect hit count");
+        assertEquals(2, cache.getMissCount(), "Incorrect miss count");
+        assertEquals(2, cache.size(), "Incorrect cache size");
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size(), "Invalidated cache still holds entries");
+    }
+
+    @Test
+    @DisplayName("LRU Eviction")
+    public void testLru() {
+        SuggestionCache cache = new SuggestionCache(1, SuggestionCache.Policy.LRU);
+        cache.get("a", word -> word);
+        cache.get("b", word -> word);
+        cache.get("b", word -> word);
+        assertEquals(1, cache.size(), "Cache grew past its maximum size");
+        assertEquals(1, cache.getEvictionCount(), "Incorrect eviction count");
+        assertEquals(1, cache.getHitCount(), "Most recent entry was evicted");
+    }
+
+    @Test
+    @DisplayName("TinyLFU Keeps Popular Words Through A Scan")
+    public void testTinyLfu() {
+        for (SuggestionCache.Policy policy : SuggestionCache.Policy.values()) {
+            SuggestionCache cache = new SuggestionCache(200, policy);
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < 100; i++) {
+                    cache.get("popular" + i, word -> word);
+                }
+            }
+            for (int i = 0; i < 1000; i++) {
+                cache.get("scan" + i, word -> word);
+            }
+            assertTrue(cache.size() <= 200, "Cache grew past its maximum size");
+
+            long hits = cache.getHitCount();
+            for (int i = 0; i < 100; i++) {
+                cache.get("popular" + i, word -> word);
+            }
+            long popularHits = cache.getHitCount() - hits;
+            if (policy == SuggestionCache.Policy.LRU) {
+                assertEquals(0, popularHits, "LRU kept entries older than the scan");
+            } else {
+                assertTrue(popularHits >= 90, "TinyLFU let a scan evict popular words: " + popularHits + " hits");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Cache Invalidated By Dictionary Changes")
+    public void testInvalidation() throws IOException {
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.setSuggestionCache(new SuggestionCache(100, SuggestionCache.Policy.TINY_LFU));
+        corrector.useDictionary("words.txt");
+        assertEquals("float", corrector.suggestSimilarWord("flobt"));
+        assertEquals("float", corrector.suggestSimilarWord("FLOBT"));
+        assertEquals(1, corrector.getSuggestionCache().getHitCount(), "Lowercased lookup missed the cache");
+
+        corrector.add("flobt");
+        assertEquals("flobt", corrector.suggestSimilarWord("flobt"));
+        assertNull(corrector.suggestSimilarWord("zzzz"));
+        corrector.add("zzz");
+        assertEquals("zzz", corrector.suggestSimilarWord("zzzz"));
+    }
+}
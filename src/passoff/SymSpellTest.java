@@ -0,0 +1,98 @@
+package passoff;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.ISpellCorrector;
+import spell.SpellCorrector;
+import spell.SymSpellCorrector;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymSpellTest {
+
+    private static final String WORD_FILENAME = "word.txt";
+    private static final String WORDS_FILENAME = "words.txt";
+    private static final String NON_LETTERS_FILENAME = "symspell.txt";
+    private static final String[] GUESSES = {
+            "yea", "YEA", "ye", "yeaz", "ybea", "flobt", "bloat", "reah", "yaeh", "flaot",
+            "e", "yez", "er", "ae", "ay", "fya", "ydela", "ymca", "yade", "yy", "feia",
+            "xel", "gya", "eyma", "eay", "aye", "lol", "", "yes", "yeahj", "abcdefghijklmnopqrstuvwxyz"
+    };
+    private ISpellCorrector symSpellCorrector;
+    private ISpellCorrector trieCorrector;
+
+    @BeforeEach
+    public void setup() {
+        symSpellCorrector = new SymSpellCorrector();
+        trieCorrector = new SpellCorrector();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        new File(NON_LETTERS_FILENAME).delete();
+    }
+
+    @Test
+    @DisplayName("Same Suggestions As Trie Corrector (word.txt)")
+    public void testSameSuggestionsSingleWord() {
+        assertSameSuggestions(WORD_FILENAME);
+    }
+
+    @Test
+    @DisplayName("Same Suggestions As Trie Corrector (words.txt)")
+    public void testSameSuggestionsWords() {
+        assertSameSuggestions(WORDS_FILENAME);
+    }
+
+    @Test
+    @DisplayName("Same Suggestions As Trie Corrector (words beyond a to z)")
+    public void testSameSuggestionsNonLetters() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(NON_LETTERS_FILENAME)) {
+            out.write("Don't dont e-mail email 'quoted' mp3 mp3 Caf\u00e9 cafe caf\u00e9 x-ray yeah,yea".getBytes(StandardCharsets.UTF_8));
+        }
+        load(symSpellCorrector, NON_LETTERS_FILENAME);
+        load(trieCorrector, NON_LETTERS_FILENAME);
+        assertEquals("don't", symSpellCorrector.suggestSimilarWord("DON'T"), "Word with an apostrophe not kept");
+        assertEquals("e-mail", symSpellCorrector.suggestSimilarWord("e-mial"), "Word with a hyphen not kept");
+        assertEquals("caf\u00e9", symSpellCorrector.suggestSimilarWord("caf\u00e8"), "Word with an accent not kept");
+        for (String guess : new String[] {"don't", "do'nt", "dnt", "e-mail", "emial", "e-", "quoted", "'quoted'", "mp4",
+                "mp", "cafe", "caf\u00e9s", "caf\u00e8", "xray", "x-rya", "yeah,yea", "yeahyea", "\u00e9"}) {
+            assertEquals(trieCorrector.suggestSimilarWord(guess), symSpellCorrector.suggestSimilarWord(guess),
+                    "Guessed: " + guess);
+        }
+    }
+
+    @Test
+    @DisplayName("Choose Closest Word")
+    public void testChooseClosestWord() {
+        load(symSpellCorrector, WORDS_FILENAME);
+        assertEquals("yea", symSpellCorrector.suggestSimilarWord("ye"), "Choosing edit distance one before two");
+        assertEquals("yeah", symSpellCorrector.suggestSimilarWord("yeaz"), "Choosing word with higher frequency");
+        assertEquals("yeah", symSpellCorrector.suggestSimilarWord("yeahj"), "Choosing first word alphabetically when equal frequency");
+        assertNull(symSpellCorrector.suggestSimilarWord("zzzzzz"), "Guessed dissimilar string");
+    }
+
+    private void assertSameSuggestions(String filename) {
+        load(symSpellCorrector, filename);
+        load(trieCorrector, filename);
+        for (String guess : GUESSES) {
+            assertEquals(trieCorrector.suggestSimilarWord(guess), symSpellCorrector.suggestSimilarWord(guess),
+                    "Guessed: " + guess);
+        }
+    }
+
+    private void load(ISpellCorrector corrector, String filename) {
+        try {
+            corrector.useDictionary(filename);
+        } catch (IOException e) {
+            fail("Spell corrector could not load dictionary. It threw: " + e.toString());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package passoff;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.IEditCostModel;
+import spell.KeyboardCostModel;
+import spell.SpellCorrector;
+import spell.Suggestion;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightedSearchTest {
+
+    @Test
+    @DisplayName("Uniform Costs Match Edit Distance")
+    public void testUniformCosts() throws IOException {
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.useDictionary("words.txt");
+        IEditCostModel uniform = new KeyboardCostModel(1, 1, 1);
+        for (String word : new String[] {"yaeh", "yeaz", "flobs", "flo", "Yeah"}) {
+            assertEquals(corrector.suggest(word, 10, 2), corrector.suggest(word, 10, uniform, 2),
+                    "Uniform weighted search disagrees for " + word);
+        }
+    }
+
+    @Test
+    @DisplayName("Keyboard Neighbors Rank First")
+    public void testKeyboardCosts() {
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.add("this");
+        for (int i = 0; i < 3; i++) {
+            corrector.add("tris");
+            corrector.add("the");
+        }
+        IEditCostModel keyboard = new KeyboardCostModel();
+
+        assertEquals("tris", corrector.suggestSimilarWord("tjis"));
+        List<Suggestion> suggestions = corrector.suggest("tjis", 2, keyboard, 2);
+        assertEquals(Arrays.asList(new Suggestion("this", 1, 0.5, 1), new Suggestion("tris", 1, 1, 3)), suggestions);
+        assertEquals(Arrays.asList(new Suggestion("this", 1, 0.5, 1)), corrector.suggest("tjis", 5, keyboard, 0.5));
+
+        assertEquals(new Suggestion("the", 1, 0.75, 3), corrector.suggest("hte", 1, keyboard, 1).get(0));
+        assertTrue(corrector.suggest("zzzz", 3, keyboard, 1).isEmpty(), "Suggested words beyond the maximum cost");
+    }
+}
@@ -0,0 +1,71 @@
+package passoff;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spell.ConcurrentTrie;
+import spell.Dawg;
+import spell.DictionaryLoader;
+import spell.IRootedTrie;
+import spell.Trie;
+import spell.WordIterator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordIteratorTest {
+
+    private Trie trie;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        trie = new Trie();
+        new DictionaryLoader(trie).load("words.txt");
+    }
+
+    @Test
+    @DisplayName("Words In Alphabetical Order With Frequencies")
+    public void testIterator() {
+        StringBuilder words = new StringBuilder();
+        WordIterator iterator = trie.iterator();
+        while (iterator.hasNext()) {
+            String word = iterator.next();
+            words.append(word).append('\n');
+            assertEquals(trie.find(word).getValue(), iterator.getFrequency(), "Incorrect frequency for " + word);
+        }
+        assertEquals(trie.toString(), words.toString(), "Iterator disagrees with toString");
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    @DisplayName("Every Trie Streams Its Words")
+    public void testStreams() throws IOException {
+        ConcurrentTrie concurrent = new ConcurrentTrie();
+        new DictionaryLoader(concurrent).load("words.txt");
+        for (IRootedTrie words : new IRootedTrie[] {trie, Dawg.minimize(trie), concurrent}) {
+            String listed = words.words().map(word -> word + "\n").collect(Collectors.joining());
+            assertEquals(trie.toString(), listed, "Stream disagrees with toString for " + words.getClass().getSimpleName());
+            StringWriter written = new StringWriter();
+            words.writeTo(written);
+            assertEquals(trie.toString(), written.toString(), "Export disagrees with toString for " + words.getClass().getSimpleName());
+        }
+        assertFalse(new Trie().iterator().hasNext(), "Empty trie has words");
+    }
+
+    @Test
+    @DisplayName("Very Long Words")
+    public void testLongWord() throws IOException {
+        Trie deep = new Trie();
+        String word = "ab".repeat(100000);
+        deep.add(word);
+        deep.add("a");
+        StringWriter written = new StringWriter();
+        deep.writeTo(written);
+        assertEquals("a\n" + word + "\n", written.toString(), "Long word exported incorrectly");
+        assertEquals(2, deep.words().count(), "Incorrect number of words");
+    }
+}
@@ -0,0 +1,125 @@
+package spell;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Maps the characters a trie holds to small dense indexes, which are the
+ * positions of a node's children in its child array. 'a' to 'z' always take
+ * indexes 0 to 25, so for plain English dictionaries an index is still just
+ * the letter minus 'a'; any other character gets the next free index the
+ * first time it is added. ASCII characters are looked up in a table and only
+ * others go through a hash map. Since indexes are handed out as characters
+ * turn up, the alphabet also keeps them in the order of their characters, for
+ * walks that must visit words alphabetically.
+ *
+ * Characters are Java chars, so a character outside the Basic Multilingual
+ * Plane takes two indexes, one per surrogate, and two levels of the trie.
+ */
+public class Alphabet {
+    public static final int NONE = -1;
+    public static final Alphabet LOWERCASE = new Alphabet();
+
+    private final int[] asciiIndexes;
+    private final HashMap<Character, Integer> otherIndexes;
+    private char[] characters;
+    private int[] order;
+    private int size;
+
+    public Alphabet() {
+        asciiIndexes = new int[128];
+        Arrays.fill(asciiIndexes, NONE);
+        otherIndexes = new HashMap<>();
+        characters = new char[32];
+        order = new int[0];
+        size = 0;
+        for (char c = 'a'; c <= 'z'; c++) {
+            add(c);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int indexOf(char c) {
+        if (c < 128) {
+            return asciiIndexes[c];
+        }
+        Integer index = otherIndexes.get(c);
+
+        return (index == null) ? NONE : index;
+    }
+
+    public char charAt(int index) {
+        return characters[index];
+    }
+
+    /**
+     * The indexes in use, sorted by the characters they stand for. Adding a
+     * character replaces the array rather than changing it.
+     */
+    int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Whether every character is one of 'a' to 'z', which is all the tries
+     * other than Trie can hold.
+     */
+    public boolean isLowercase() {
+        return size == 26;
+    }
+
+    /**
+     * Returns the index of c, giving it the next free index if it has none.
+     * Only the trie that owns this alphabet may add to it.
+     */
+    int add(char c) {
+        int index = indexOf(c);
+        if (index != NONE) {
+            return index;
+        }
+
+        if (size == characters.length) {
+            characters = Arrays.copyOf(characters, size * 2);
+        }
+        index = size++;
+        characters[index] = c;
+        if (c < 128) {
+            asciiIndexes[c] = index;
+        } else {
+            otherIndexes.put(c, index);
+        }
+
+        int position = 0;
+        while (position < order.length && characters[order[position]] < c) {
+            position++;
+        }
+        int[] sorted = new int[size];
+        System.arraycopy(order, 0, sorted, 0, position);
+        sorted[position] = index;
+        System.arraycopy(order, position, sorted, position + 1, order.length - position);
+        order = sorted;
+
+        return index;
+    }
+
+    /**
+     * Two alphabets are equal if they give every character the same index.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Alphabet)) {
+            return false;
+        }
+        Alphabet alphabet = (Alphabet)o;
+
+        return Arrays.equals(characters, 0, size, alphabet.characters, 0, alphabet.size);
+    }
+
+    @Override
+    public int hashCode() {
+        return size;
+    }
+}
@@ -0,0 +1,80 @@
+package spell;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the single match a suggestion is made from: the closest, then the most
+ * frequent, then the first alphabetically. Since matches arrive alphabetically,
+ * a match only replaces the one kept if it is closer or strictly more frequent,
+ * so ties go to the earlier word without ever comparing words. For the same
+ * reason subtrees that cannot get closer are skipped unless their most frequent
+ * word is strictly more frequent than the match kept.
+ *
+ * The match is kept as characters in one reusable array, so collecting
+ * allocates nothing once warmed up; only the final match becomes a String.
+ */
+class BestMatch implements MatchCollector {
+    private char[] matchChars;
+    private int matchLength;
+    private int bestDistance;
+    private int topFrequency;
+    private int ties;
+
+    public BestMatch() {
+        matchChars = new char[32];
+    }
+
+    public void reset(int maxDistance) {
+        matchLength = -1;
+        bestDistance = maxDistance;
+        topFrequency = 0;
+        ties = 0;
+    }
+
+    @Override
+    public boolean wants(int minimumDistance, int maxFrequency) {
+        return minimumDistance < bestDistance
+                || (minimumDistance == bestDistance && maxFrequency > topFrequency);
+    }
+
+    @Override
+    public void collect(char[] word, int length, int distance, int frequency) {
+        if (distance > bestDistance) {
+            return;
+        }
+        if (distance == bestDistance && frequency <= topFrequency) {
+            ties++;
+            return;
+        }
+
+        bestDistance = distance;
+        topFrequency = frequency;
+        if (length > matchChars.length) {
+            matchChars = Arrays.copyOf(matchChars, length * 2);
+        }
+        System.arraycopy(word, 0, matchChars, 0, length);
+        matchLength = length;
+    }
+
+    /**
+     * Returns the match kept, or null if nothing was within the maximum distance.
+     */
+    public String getMatch() {
+        return (matchLength == -1) ? null : new String(matchChars, 0, matchLength);
+    }
+
+    /**
+     * Returns the distance of the match kept, or -1 if there is none.
+     */
+    public int getDistance() {
+        return (matchLength == -1) ? -1 : bestDistance;
+    }
+
+    /**
+     * The number of matches since the last reset that were as close as the
+     * match kept at the time but lost to it on frequency or alphabetical order.
+     */
+    public int getTies() {
+        return ties;
+    }
+}
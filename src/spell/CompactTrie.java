@@ -0,0 +1,276 @@
+package spell;
+
+import java.util.Arrays;
+
+/**
+ * A trie stored in flat primitive arrays instead of one Node object (with its
+ * own INode[26]) per node. Each node is an index into the arrays; its children
+ * form a sibling list sorted by letter, and a 26-bit mask of the letters present
+ * lets lookups reject missing children without touching the list.
+ * INode views are only created for the nodes handed out by find and getRoot.
+ *
+ * Once the dictionary is loaded, pack() lays the nodes out breadth first so
+ * every node's children are contiguous; a child is then found directly by
+ * counting the mask bits below its letter. Adding a new node afterwards falls
+ * back to the sibling lists until pack() is called again.
+ */
+public class CompactTrie implements IRootedTrie {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] childMask;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private byte[] letter;
+    private int[] value;
+    private int nodeCount;
+    private int wordCount;
+    private boolean packed;
+
+    public CompactTrie() {
+        childMask = new int[INITIAL_CAPACITY];
+        firstChild = new int[INITIAL_CAPACITY];
+        nextSibling = new int[INITIAL_CAPACITY];
+        letter = new byte[INITIAL_CAPACITY];
+        value = new int[INITIAL_CAPACITY];
+        nodeCount = 0;
+        wordCount = 0;
+        newNode(0);
+        packed = true;
+    }
+
+    @Override
+    public void add(String word) {
+        String wordLower = word.toLowerCase();
+        int node = ROOT;
+        for (int i = 0; i < wordLower.length(); i++) {
+            int index = wordLower.charAt(i) - 'a';
+            int child = getChild(node, index);
+            if (child == NONE) {
+                child = addChild(node, index);
+            }
+            node = child;
+        }
+
+        if (value[node] == 0) {
+            wordCount++;
+        }
+        value[node]++;
+    }
+
+    @Override
+    public INode find(String word) {
+        String wordLower = word.toLowerCase();
+        int node = ROOT;
+        for (int i = 0; i < wordLower.length(); i++) {
+            node = getChild(node, wordLower.charAt(i) - 'a');
+            if (node == NONE) {
+                return null;
+            }
+        }
+
+        return (value[node] > 0) ? new CompactNode(node) : null;
+    }
+
+    @Override
+    public INode getRoot() {
+        return new CompactNode(ROOT);
+    }
+
+    @Override
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder words = new StringBuilder();
+        getWords(ROOT, new StringBuilder(), words);
+
+        return words.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        if (childMask[ROOT] == 0) {
+            return 0;
+        }
+
+        return Integer.numberOfTrailingZeros(childMask[ROOT]) * nodeCount * wordCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CompactTrie)) {
+            return false;
+        }
+        CompactTrie trie = (CompactTrie)o;
+
+        return nodeCount == trie.nodeCount
+                && wordCount == trie.wordCount
+                && equals(ROOT, trie, ROOT);
+    }
+
+    public void pack() {
+        int[] newChildMask = new int[nodeCount];
+        int[] newFirstChild = new int[nodeCount];
+        int[] newNextSibling = new int[nodeCount];
+        byte[] newLetter = new byte[nodeCount];
+        int[] newValue = new int[nodeCount];
+
+        int[] order = new int[nodeCount];
+        order[0] = ROOT;
+        int next = 1;
+        for (int i = 0; i < nodeCount; i++) {
+            int node = order[i];
+            newChildMask[i] = childMask[node];
+            newLetter[i] = letter[node];
+            newValue[i] = value[node];
+            newFirstChild[i] = (firstChild[node] == NONE) ? NONE : next;
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                newNextSibling[next] = (nextSibling[child] == NONE) ? NONE : next + 1;
+                order[next++] = child;
+            }
+        }
+        newNextSibling[ROOT] = NONE;
+
+        childMask = newChildMask;
+        firstChild = newFirstChild;
+        nextSibling = newNextSibling;
+        letter = newLetter;
+        value = newValue;
+        packed = true;
+    }
+
+    private boolean equals(int node, CompactTrie trie, int otherNode) {
+        if (value[node] != trie.value[otherNode] || childMask[node] != trie.childMask[otherNode]) {
+            return false;
+        }
+
+        int child = firstChild[node];
+        int otherChild = trie.firstChild[otherNode];
+        while (child != NONE) {
+            if (!equals(child, trie, otherChild)) {
+                return false;
+            }
+            child = nextSibling[child];
+            otherChild = trie.nextSibling[otherChild];
+        }
+
+        return true;
+    }
+
+    private void getWords(int node, StringBuilder word, StringBuilder words) {
+        if (value[node] > 0) {
+            words.append(word).append('\n');
+        }
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            word.append((char) ('a' + letter[child]));
+            getWords(child, word, words);
+            word.setLength(word.length() - 1);
+        }
+    }
+
+    /**
+     * Returns NONE for indexes outside a to z, which no node can have as a
+     * child; shifting by them would wrap around onto a letter's bit.
+     */
+    private int getChild(int node, int index) {
+        if (index < 0 || index >= 26) {
+            return NONE;
+        }
+        int bit = 1 << index;
+        if ((childMask[node] & bit) == 0) {
+            return NONE;
+        }
+        if (packed) {
+            return firstChild[node] + Integer.bitCount(childMask[node] & (bit - 1));
+        }
+        int child = firstChild[node];
+        while (letter[child] != index) {
+            child = nextSibling[child];
+        }
+
+        return child;
+    }
+
+    private int addChild(int node, int index) {
+        if (index < 0 || index >= 26) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        int child = newNode(index);
+        packed = false;
+        int previous = NONE;
+        int next = firstChild[node];
+        while (next != NONE && letter[next] < index) {
+            previous = next;
+            next = nextSibling[next];
+        }
+
+        nextSibling[child] = next;
+        if (previous == NONE) {
+            firstChild[node] = child;
+        } else {
+            nextSibling[previous] = child;
+        }
+        childMask[node] |= 1 << index;
+
+        return child;
+    }
+
+    private int newNode(int index) {
+        if (nodeCount == value.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, value.length + (value.length >> 1));
+            childMask = Arrays.copyOf(childMask, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            letter = Arrays.copyOf(letter, capacity);
+            value = Arrays.copyOf(value, capacity);
+        }
+        int node = nodeCount++;
+        childMask[node] = 0;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        letter[node] = (byte) index;
+        value[node] = 0;
+
+        return node;
+    }
+
+    private class CompactNode implements INode {
+        private final int node;
+
+        public CompactNode(int node) {
+            this.node = node;
+        }
+
+        @Override
+        public int getValue() {
+            return value[node];
+        }
+
+        @Override
+        public void incrementValue() {
+            if (value[node] == 0) {
+                wordCount++;
+            }
+            value[node]++;
+        }
+
+        @Override
+        public INode[] getChildren() {
+            INode[] children = new INode[26];
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                children[letter[child]] = new CompactNode(child);
+            }
+
+            return children;
+        }
+    }
+}
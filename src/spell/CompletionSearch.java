@@ -0,0 +1,79 @@
+package spell;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Finds the most frequent words starting with a prefix by walking the subtree
+ * below it, keeping the best k in a bounded priority queue. Subtrees whose most
+ * frequent word (as recorded in Node) cannot beat the worst word kept are
+ * skipped. Children are visited in the order of their characters, so words
+ * come alphabetically and the first of several equally frequent words is the
+ * one kept. Used for tries that have no prepared completions, and for requests
+ * for more completions than Trie prepares.
+ */
+class CompletionSearch {
+    private final int k;
+    private final PriorityQueue<Suggestion> completions;
+    private final StringBuilder word;
+
+    public CompletionSearch(int k) {
+        this.k = k;
+        completions = new PriorityQueue<>(k, Collections.reverseOrder());
+        word = new StringBuilder();
+    }
+
+    public List<String> complete(IRootedTrie trie, String prefix) {
+        String prefixLower = prefix.toLowerCase();
+        INode node = trie.getRoot();
+        for (int i = 0; i < prefixLower.length(); i++) {
+            int index = trie.getAlphabet().indexOf(prefixLower.charAt(i));
+            if (index == Alphabet.NONE || index >= node.getChildren().length || node.getChildren()[index] == null) {
+                return new ArrayList<>();
+            }
+            node = node.getChildren()[index];
+        }
+
+        word.append(prefixLower);
+        collect(node, trie.getAlphabet());
+
+        ArrayList<Suggestion> best = new ArrayList<>(completions);
+        Collections.sort(best);
+        ArrayList<String> words = new ArrayList<>(best.size());
+        for (Suggestion completion : best) {
+            words.add(completion.getWord());
+        }
+
+        return words;
+    }
+
+    private void collect(INode node, Alphabet alphabet) {
+        if (completions.size() == k && getMaxValue(node) <= completions.peek().getFrequency()) {
+            return;
+        }
+
+        if (node.getValue() > 0) {
+            if (completions.size() < k) {
+                completions.add(new Suggestion(word.toString(), 0, node.getValue()));
+            } else if (node.getValue() > completions.peek().getFrequency()) {
+                completions.poll();
+                completions.add(new Suggestion(word.toString(), 0, node.getValue()));
+            }
+        }
+
+        INode[] children = node.getChildren();
+        for (int c : alphabet.getOrder()) {
+            if (c < children.length && children[c] != null) {
+                word.append(alphabet.charAt(c));
+                collect(children[c], alphabet);
+                word.setLength(word.length() - 1);
+            }
+        }
+    }
+
+    private int getMaxValue(INode node) {
+        return (node instanceof Node) ? ((Node)node).getMaxValue() : Integer.MAX_VALUE;
+    }
+}
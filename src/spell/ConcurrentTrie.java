@@ -0,0 +1,198 @@
+package spell;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A trie that can take new words while other threads are searching it.
+ * Children are installed with a compare-and-set on their slot, so two writers
+ * racing to create the same node agree on one of them, and frequencies are
+ * striped counters so hot words do not serialize their writers. Readers never
+ * lock.
+ *
+ * A word becomes visible to find the moment its node is marked as a word,
+ * which happens after its frequency has been counted, so find never returns a
+ * node with a frequency of zero.
+ */
+public class ConcurrentTrie implements IRootedTrie {
+    private static final AtomicIntegerFieldUpdater<ConcurrentNode> WORD =
+            AtomicIntegerFieldUpdater.newUpdater(ConcurrentNode.class, "word");
+
+    private final ConcurrentNode root;
+    private final LongAdder wordCount;
+    private final LongAdder nodeCount;
+
+    public ConcurrentTrie() {
+        root = new ConcurrentNode();
+        wordCount = new LongAdder();
+        nodeCount = new LongAdder();
+        nodeCount.increment();
+    }
+
+    /**
+     * Adds a word of the letters 'a' to 'z', in either case. Any other
+     * character is rejected before a node is created, so a bad word leaves
+     * the trie as it was.
+     */
+    @Override
+    public void add(String word) {
+        String wordLower = word.toLowerCase();
+        for (int i = 0; i < wordLower.length(); i++) {
+            if (wordLower.charAt(i) < 'a' || wordLower.charAt(i) > 'z') {
+                throw new IllegalArgumentException("ConcurrentTrie only holds the letters a to z, not \"" + word + "\"");
+            }
+        }
+        ConcurrentNode currentNode = root;
+        for (int i = 0; i < wordLower.length(); i++) {
+            int index = wordLower.charAt(i) - 'a';
+            ConcurrentNode child = currentNode.children.get(index);
+            if (child == null) {
+                ConcurrentNode newChild = new ConcurrentNode();
+                if (currentNode.children.compareAndSet(index, null, newChild)) {
+                    nodeCount.increment();
+                    child = newChild;
+                } else {
+                    child = currentNode.children.get(index);
+                }
+            }
+            currentNode = child;
+        }
+
+        currentNode.incrementValue();
+    }
+
+    @Override
+    public INode find(String word) {
+        String wordLower = word.toLowerCase();
+        ConcurrentNode currentNode = root;
+        for (int i = 0; i < wordLower.length(); i++) {
+            int index = wordLower.charAt(i) - 'a';
+            if (index < 0 || index >= 26) {
+                return null;
+            }
+            currentNode = currentNode.children.get(index);
+            if (currentNode == null) {
+                return null;
+            }
+        }
+
+        return currentNode.isWord() ? currentNode : null;
+    }
+
+    @Override
+    public INode getRoot() {
+        return root;
+    }
+
+    @Override
+    public int getWordCount() {
+        return wordCount.intValue();
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodeCount.intValue();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder words = new StringBuilder();
+        root.getWords(new StringBuilder(), words);
+
+        return words.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        for (int i = 0; i < 26; i++) {
+            if (root.children.get(i) != null) {
+                return i * getNodeCount() * getWordCount();
+            }
+        }
+
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ConcurrentTrie)) {
+            return false;
+        }
+        ConcurrentTrie trie = (ConcurrentTrie)o;
+
+        return root.equals(trie.root);
+    }
+
+    private class ConcurrentNode implements INode {
+        private final AtomicReferenceArray<ConcurrentNode> children;
+        private final LongAdder value;
+        private volatile int word;
+
+        public ConcurrentNode() {
+            children = new AtomicReferenceArray<>(26);
+            value = new LongAdder();
+            word = 0;
+        }
+
+        @Override
+        public int getValue() {
+            return value.intValue();
+        }
+
+        @Override
+        public void incrementValue() {
+            value.increment();
+            if (word == 0 && WORD.compareAndSet(this, 0, 1)) {
+                wordCount.increment();
+            }
+        }
+
+        @Override
+        public INode[] getChildren() {
+            INode[] snapshot = new INode[26];
+            for (int i = 0; i < 26; i++) {
+                snapshot[i] = children.get(i);
+            }
+
+            return snapshot;
+        }
+
+        public boolean isWord() {
+            return word != 0;
+        }
+
+        public void getWords(StringBuilder prefix, StringBuilder words) {
+            if (isWord()) {
+                words.append(prefix).append('\n');
+            }
+            for (int i = 0; i < 26; i++) {
+                ConcurrentNode child = children.get(i);
+                if (child != null) {
+                    prefix.append((char) ('a' + i));
+                    child.getWords(prefix, words);
+                    prefix.setLength(prefix.length() - 1);
+                }
+            }
+        }
+
+        public boolean equals(ConcurrentNode node) {
+            if (node.getValue() != getValue()) {
+                return false;
+            }
+
+            for (int i = 0; i < 26; i++) {
+                ConcurrentNode child = children.get(i);
+                ConcurrentNode otherChild = node.children.get(i);
+                if (child == null && otherChild == null) {
+                    continue;
+                }
+                if (child == null || otherChild == null || !child.equals(otherChild)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
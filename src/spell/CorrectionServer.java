@@ -0,0 +1,417 @@
+package spell;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves corrections from a dictionary loaded once, over a local TCP or Unix
+ * domain socket, so each correction costs a search rather than starting a JVM
+ * and loading the dictionary.
+ *
+ * The protocol is lines of UTF-8 text. A request is a line of words separated
+ * by spaces or tabs, ended by a newline or by the client closing its side of
+ * the connection; the response is a line with the suggestion for each word,
+ * in the same order and separated by single spaces, with "-" for words that
+ * have no suggestion. Clients may send many requests without waiting for
+ * responses, which come back in the order the requests were sent.
+ *
+ * One thread does all the socket I/O with a selector and hands complete
+ * requests to a pool of worker threads, one connection at a time per worker
+ * so responses stay in order. A connection with too many requests waiting is
+ * not read from until the workers catch up.
+ */
+public class CorrectionServer implements Closeable {
+    public static final String NO_SUGGESTION = "-";
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_LINE_LENGTH = 1 << 20;
+    private static final int MAX_BACKLOG = 1024;
+
+    private final SpellCorrector corrector;
+    private final ServerSocketChannel server;
+    private final SocketAddress address;
+    private final Selector selector;
+    private final ExecutorService workers;
+    private final ConcurrentLinkedQueue<Connection> updates;
+    private final Thread selectorThread;
+    private volatile boolean running;
+
+    /**
+     * Starts serving on the given address: an InetSocketAddress, whose port
+     * may be 0 to pick a free one, or a UnixDomainSocketAddress. Requests are
+     * answered by the given number of worker threads.
+     */
+    public CorrectionServer(SpellCorrector corrector, SocketAddress address, int threads) throws IOException {
+        this.corrector = corrector;
+        server = (address instanceof UnixDomainSocketAddress)
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        this.address = server.getLocalAddress();
+        selector = Selector.open();
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread worker = new Thread(runnable, "correction-worker");
+            worker.setDaemon(true);
+            return worker;
+        });
+        updates = new ConcurrentLinkedQueue<>();
+        running = true;
+        selectorThread = new Thread(this::run, "correction-server");
+        selectorThread.start();
+    }
+
+    /**
+     * Give the dictionary file name and either a port to listen on at the
+     * loopback address or the path of a Unix domain socket to create.
+     * Optionally give the number of worker threads.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: CorrectionServer <dictionary> <port | socket path> [threads]");
+            return;
+        }
+        int threads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        SpellCorrector corrector = new SpellCorrector();
+        corrector.useDictionary(args[0]);
+        CorrectionServer server = new CorrectionServer(corrector, parseAddress(args[1]), threads);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println("Serving " + args[0] + " on " + server.getAddress());
+    }
+
+    /**
+     * A port number is a port at the loopback address; anything else is the
+     * path of a Unix domain socket.
+     */
+    public static SocketAddress parseAddress(String address) {
+        if (!address.isEmpty() && address.chars().allMatch(Character::isDigit)) {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+        }
+
+        return UnixDomainSocketAddress.of(address);
+    }
+
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Stops accepting and closes every connection. Requests still being
+     * answered are dropped. A Unix domain socket's file is deleted.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+        if (address instanceof UnixDomainSocketAddress) {
+            try {
+                Files.deleteIfExists(((UnixDomainSocketAddress)address).getPath());
+            } catch (IOException e) {
+                // The socket is closed either way
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Connection updated;
+                while ((updated = updates.poll()) != null) {
+                    updated.updateInterest();
+                }
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        try {
+                            accept();
+                        } catch (IOException e) {
+                            System.out.println("Could not accept a connection: " + e);
+                        }
+                        continue;
+                    }
+                    Connection connection = (Connection)key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.write();
+                        }
+                    } catch (IOException e) {
+                        connection.close();
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            System.out.println("Correction server stopped: " + e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        }
+    }
+
+    /**
+     * Answers a request line. Words are split on spaces and tabs only, so
+     * anything else in a word is left for the corrector to deal with.
+     */
+    private void answer(String request, StringBuilder response) {
+        int end = 0;
+        boolean first = true;
+        while (true) {
+            int start = end;
+            while (start < request.length() && isSeparator(request.charAt(start))) {
+                start++;
+            }
+            if (start == request.length()) {
+                break;
+            }
+            end = start;
+            while (end < request.length() && !isSeparator(request.charAt(end))) {
+                end++;
+            }
+
+            String suggestion = corrector.suggestSimilarWord(request.substring(start, end));
+            if (!first) {
+                response.append(' ');
+            }
+            response.append((suggestion == null) ? NO_SUGGESTION : suggestion);
+            first = false;
+        }
+        response.append('\n');
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing more to do with it
+        }
+    }
+
+    /**
+     * One client. The selector thread reads requests into the queue and writes
+     * responses out of theirs; a worker, when there is one on it, answers
+     * queued requests. Both queues and the flags are guarded by the connection.
+     */
+    private class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer input;
+        private final ArrayDeque<String> requests;
+        private final ArrayDeque<ByteBuffer> responses;
+        private SelectionKey key;
+        private byte[] line;
+        private int lineLength;
+        private boolean answering;
+        private boolean inputEnded;
+
+        public Connection(SocketChannel channel) {
+            this.channel = channel;
+            input = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            requests = new ArrayDeque<>();
+            responses = new ArrayDeque<>();
+            line = new byte[256];
+        }
+
+        /**
+         * Called on the selector thread when the channel has bytes to read.
+         * Each complete line becomes a request; a partial line waits for the
+         * rest, and is answered as the last request if the client finishes
+         * sending without ending it.
+         */
+        public void read() throws IOException {
+            List<String> lines = new ArrayList<>();
+            int read = channel.read(input);
+            if (read < 0) {
+                if (lineLength > 0) {
+                    lines.add(takeLine());
+                }
+                synchronized (this) {
+                    inputEnded = true;
+                }
+                queue(lines);
+                return;
+            }
+
+            input.flip();
+            while (input.hasRemaining()) {
+                byte b = input.get();
+                if (b == '\n') {
+                    lines.add(takeLine());
+                    continue;
+                }
+                if (lineLength == MAX_LINE_LENGTH) {
+                    throw new IOException("Request longer than " + MAX_LINE_LENGTH + " bytes");
+                }
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, Math.min(MAX_LINE_LENGTH, line.length * 2));
+                }
+                line[lineLength++] = b;
+            }
+            input.clear();
+            queue(lines);
+        }
+
+        private String takeLine() {
+            int length = (lineLength > 0 && line[lineLength - 1] == '\r') ? lineLength - 1 : lineLength;
+            lineLength = 0;
+
+            return new String(line, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private void queue(List<String> lines) {
+            if (!lines.isEmpty()) {
+                synchronized (this) {
+                    requests.addAll(lines);
+                    if (!answering) {
+                        answering = true;
+                        workers.execute(this::answerRequests);
+                    }
+                }
+            }
+            updateInterest();
+        }
+
+        /**
+         * Called on a worker. Answers requests until none are waiting, putting
+         * the answers to all the requests that were waiting together into one
+         * response buffer.
+         */
+        private void answerRequests() {
+            StringBuilder response = new StringBuilder();
+            while (true) {
+                String[] batch;
+                synchronized (this) {
+                    if (requests.isEmpty()) {
+                        answering = false;
+                        break;
+                    }
+                    batch = requests.toArray(new String[0]);
+                    requests.clear();
+                }
+
+                response.setLength(0);
+                try {
+                    for (String request : batch) {
+                        answer(request, response);
+                    }
+                } catch (RuntimeException e) {
+                    System.out.println("Closing connection after a failed request: " + e);
+                    synchronized (this) {
+                        requests.clear();
+                        responses.clear();
+                        inputEnded = true;
+                        answering = false;
+                    }
+                    scheduleUpdate();
+                    return;
+                }
+                ByteBuffer encoded = StandardCharsets.UTF_8.encode(response.toString());
+                synchronized (this) {
+                    responses.add(encoded);
+                }
+                scheduleUpdate();
+            }
+            scheduleUpdate();
+        }
+
+        /**
+         * Called on the selector thread when the channel can take more bytes.
+         */
+        public void write() throws IOException {
+            synchronized (this) {
+                while (!responses.isEmpty()) {
+                    ByteBuffer response = responses.peek();
+                    channel.write(response);
+                    if (response.hasRemaining()) {
+                        break;
+                    }
+                    responses.poll();
+                }
+            }
+            updateInterest();
+        }
+
+        private void scheduleUpdate() {
+            updates.add(this);
+            selector.wakeup();
+        }
+
+        /**
+         * Called on the selector thread. Reads while the backlog is short and
+         * the client has not finished sending, writes while responses are
+         * waiting, and closes once the client has finished and everything it
+         * sent has been answered and written.
+         */
+        public void updateInterest() {
+            if (!key.isValid()) {
+                return;
+            }
+            int interest = 0;
+            synchronized (this) {
+                if (inputEnded && !answering && requests.isEmpty() && responses.isEmpty()) {
+                    close();
+                    return;
+                }
+                if (!inputEnded && requests.size() + responses.size() < MAX_BACKLOG) {
+                    interest |= SelectionKey.OP_READ;
+                }
+                if (!responses.isEmpty()) {
+                    interest |= SelectionKey.OP_WRITE;
+                }
+            }
+            key.interestOps(interest);
+        }
+
+        public void close() {
+            key.cancel();
+            closeQuietly(channel);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package spell;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.function.Supplier;
+
+/**
+ * Loads the same dictionary into each spell corrector and reports the heap it
+ * retains along with the latency of correcting every word in a query file.
+ * This class is not used by the passoff program.
+ */
+public class CorrectorComparison {
+
+	/**
+	 * Give the dictionary file name as the first argument and a file of words to
+	 * correct, one per line, as the second argument.
+	 */
+	public static void main(String[] args) throws IOException {
+		String dictionaryFileName = args[0];
+		ArrayList<String> queries = readQueries(args[1]);
+
+		compare("SpellCorrector", SpellCorrector::new, dictionaryFileName, queries);
+		compare("SymSpellCorrector", SymSpellCorrector::new, dictionaryFileName, queries);
+	}
+
+	private static void compare(
+		String name,
+		Supplier<ISpellCorrector> factory,
+		String dictionaryFileName,
+		ArrayList<String> queries
+	) throws IOException {
+		long heapBefore = usedHeap();
+		long loadStart = System.nanoTime();
+		ISpellCorrector corrector = factory.get();
+		corrector.useDictionary(dictionaryFileName);
+		long loadTime = System.nanoTime() - loadStart;
+		long heapAfter = usedHeap();
+
+		for (String query : queries) {
+			corrector.suggestSimilarWord(query);
+		}
+		long[] latencies = new long[queries.size()];
+		for (int i = 0; i < queries.size(); i++) {
+			long start = System.nanoTime();
+			corrector.suggestSimilarWord(queries.get(i));
+			latencies[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(latencies);
+
+		long total = 0;
+		for (long latency : latencies) {
+			total += latency;
+		}
+		System.out.printf("%s: load %.1f ms, retained heap %.1f MB, mean %.1f us, p50 %.1f us, p99 %.1f us%n",
+				name,
+				loadTime / 1e6,
+				(heapAfter - heapBefore) / (1024.0 * 1024.0),
+				total / 1e3 / latencies.length,
+				latencies[latencies.length / 2] / 1e3,
+				latencies[(int) (latencies.length * 0.99)] / 1e3);
+	}
+
+	private static ArrayList<String> readQueries(String fileName) throws FileNotFoundException {
+		ArrayList<String> queries = new ArrayList<>();
+		Scanner reader = new Scanner(new File(fileName));
+		while (reader.hasNextLine()) {
+			String line = reader.nextLine().trim();
+			if (!line.isEmpty()) {
+				// Generated query files carry the query's kind after a tab
+				int tab = line.indexOf('\t');
+				queries.add((tab < 0) ? line : line.substring(0, tab));
+			}
+		}
+		reader.close();
+
+		return queries;
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
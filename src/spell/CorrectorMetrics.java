@@ -0,0 +1,101 @@
+package spell;
+
+/**
+ * Where a SpellCorrector reports what its suggestSimilarWord calls did: how
+ * long each phase took, how much of the trie the search walked, and what kind
+ * of answer came out.
+ *
+ * NOOP records nothing. It is the only implementation loaded unless a
+ * RecordingMetrics is created, so the JIT can inline its empty methods and
+ * drop the calls, clock reads included, from the compiled code altogether.
+ * The methods the corrector calls are package-private, so only this package
+ * can provide implementations.
+ */
+public abstract class CorrectorMetrics {
+    public static final CorrectorMetrics NOOP = new NoopMetrics();
+
+    /**
+     * The parts of a call that are timed. TOTAL is the whole call, cache
+     * included; LOOKUP is checking whether the input word is in the dictionary
+     * and SEARCH is searching for the closest word when it is not.
+     */
+    public enum Phase { TOTAL, LOOKUP, SEARCH }
+
+    /**
+     * What a call suggested, by the edit distance of its suggestion from the
+     * input word. Answers served from a SuggestionCache are not searched, so
+     * they are not classified; the cache counts them itself.
+     */
+    public enum Outcome { EXACT, DISTANCE_1, DISTANCE_2, DISTANCE_3_OR_MORE, NO_SUGGESTION }
+
+    CorrectorMetrics() {
+    }
+
+    /**
+     * Returns the time a phase starts at, or 0 when not recording.
+     */
+    abstract long startPhase();
+
+    /**
+     * Records a phase that started at the given time and returns the time it
+     * ended, so the next phase can start from it.
+     */
+    abstract long endPhase(Phase phase, long start);
+
+    /**
+     * Records the work one search did: the trie nodes it stepped the automaton
+     * through, the dictionary words it found within the maximum distance, and
+     * how many of those tied the suggestion kept on distance and lost on
+     * frequency or alphabetical order.
+     */
+    abstract void recordSearch(int nodesVisited, int matchesFound, int ties);
+
+    abstract void recordOutcome(Outcome outcome);
+
+    static Outcome outcomeOf(int distance) {
+        switch (distance) {
+            case -1:
+                return Outcome.NO_SUGGESTION;
+            case 0:
+                return Outcome.EXACT;
+            case 1:
+                return Outcome.DISTANCE_1;
+            case 2:
+                return Outcome.DISTANCE_2;
+            default:
+                return Outcome.DISTANCE_3_OR_MORE;
+        }
+    }
+
+    /**
+     * Returns everything recorded so far. Counters are read one at a time
+     * while calls may still be recording, so totals taken together can be a
+     * few calls apart.
+     */
+    public abstract MetricsSnapshot snapshot();
+
+    private static class NoopMetrics extends CorrectorMetrics {
+        @Override
+        long startPhase() {
+            return 0;
+        }
+
+        @Override
+        long endPhase(Phase phase, long start) {
+            return 0;
+        }
+
+        @Override
+        void recordSearch(int nodesVisited, int matchesFound, int ties) {
+        }
+
+        @Override
+        void recordOutcome(Outcome outcome) {
+        }
+
+        @Override
+        public MetricsSnapshot snapshot() {
+            return MetricsSnapshot.empty();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package spell;
+
+/**
+ * The parts of a RecordingMetrics that JMX clients such as JConsole can read,
+ * once it has been registered with registerMBean. Latencies are in
+ * microseconds.
+ */
+public interface CorrectorMetricsMXBean {
+	long getSuggestionCount();
+
+	long getExactCount();
+
+	long getDistance1Count();
+
+	long getDistance2Count();
+
+	long getNoSuggestionCount();
+
+	long getNodesVisited();
+
+	double getLatencyP50Micros();
+
+	double getLatencyP99Micros();
+
+	double getSearchP99Micros();
+}
@@ -0,0 +1,197 @@
+package spell;
+
+/**
+ * Damerau-Levenshtein automaton for a single input word. Feeding it the
+ * characters of a dictionary word one at a time yields the distance between
+ * the two, and tells the caller as soon as no extension of the characters fed
+ * so far can come within the maximum distance.
+ *
+ * Characters are fed as their indexes in the dictionary's Alphabet, so the
+ * tables of last occurrences have one entry per character the dictionary uses.
+ *
+ * Rows are only computed inside the diagonal band of width 2 * maxDistance + 1;
+ * every entry outside it is known to be too far and is held at maxDistance + 1.
+ */
+class DamerauLevenshteinAutomaton {
+    private int[] inputChars;
+    private int inputLength;
+    private int maxDistance;
+    private int tooFar;
+    private Alphabet alphabet;
+    private int[][] lastOccurrence;
+    private int[] lastRowOfChar;
+    private int[] savedRows;
+    private int[][] rows;
+    private int readyRows;
+
+    public DamerauLevenshteinAutomaton(String inputWord, int maxDistance) {
+        this();
+        char[] inputLower = inputWord.toLowerCase().toCharArray();
+        reset(inputLower, inputLower.length, maxDistance, Alphabet.LOWERCASE);
+    }
+
+    /**
+     * Creates an automaton with no input word, to be given one by reset. An
+     * automaton reused this way only allocates when a longer input word than
+     * any before it, or a larger alphabet, comes along.
+     */
+    public DamerauLevenshteinAutomaton() {
+        inputChars = new int[16];
+        lastOccurrence = new int[26][inputChars.length + 1];
+        lastRowOfChar = new int[26];
+        savedRows = new int[32];
+        rows = new int[32][];
+    }
+
+    /**
+     * Starts over with a new input word, which must already be lowercase, to
+     * be matched against words of the given alphabet.
+     */
+    public void reset(char[] inputWord, int length, int maxDistance, Alphabet alphabet) {
+        this.maxDistance = maxDistance;
+        this.alphabet = alphabet;
+        tooFar = maxDistance + 1;
+        inputLength = length;
+        int size = alphabet.size();
+        if (length > inputChars.length) {
+            inputChars = new int[length * 2];
+        }
+        if (size > lastRowOfChar.length || lastOccurrence[0].length < inputChars.length + 1) {
+            lastOccurrence = new int[Math.max(size, lastRowOfChar.length)][inputChars.length + 1];
+            lastRowOfChar = new int[lastOccurrence.length];
+        }
+
+        for (int j = 1; j <= length; j++) {
+            int c = alphabet.indexOf(inputWord[j - 1]);
+            inputChars[j - 1] = c;
+            for (int letter = 0; letter < size; letter++) {
+                lastOccurrence[letter][j] = (letter == c) ? j : lastOccurrence[letter][j - 1];
+            }
+        }
+
+        for (int letter = 0; letter < size; letter++) {
+            lastRowOfChar[letter] = 0;
+        }
+        readyRows = 0;
+        prepareRow(0);
+        prepareRow(1);
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    public boolean canMatch(int rowMinimum) {
+        return rowMinimum <= maxDistance;
+    }
+
+    /**
+     * Returns the distance between the input word and the word whose last
+     * character sits at the given depth, or maxDistance + 1 if it is too far.
+     */
+    public int getDistance(int depth) {
+        return rows[depth + 1][inputLength + 1];
+    }
+
+    /**
+     * Computes the row for character c at the given depth (1-based) using the
+     * Lowrance-Wagner recurrence, and returns the smallest entry in the band.
+     */
+    public int step(int depth, int c) {
+        if (depth + 1 >= readyRows) {
+            prepareRow(depth + 1);
+        }
+        int[] previous = rows[depth];
+        int[] row = rows[depth + 1];
+        int rowMinimum = row[1];
+
+        int first = Math.max(1, depth - maxDistance);
+        int last = Math.min(inputLength, depth + maxDistance);
+        for (int j = first; j <= last; j++) {
+            int inputChar = inputChars[j - 1];
+            int k = (inputChar >= 0) ? lastRowOfChar[inputChar] : 0;
+            int l = lastOccurrence[c][j - 1];
+            int cost = (inputChar == c) ? 0 : 1;
+
+            int distance = Math.min(previous[j] + cost, Math.min(row[j] + 1, previous[j + 1] + 1));
+            if (k > 0 && l > 0) {
+                distance = Math.min(distance, rows[k][l] + (depth - k - 1) + 1 + (j - l - 1));
+            }
+            distance = Math.min(distance, tooFar);
+            row[j + 1] = distance;
+            rowMinimum = Math.min(rowMinimum, distance);
+        }
+
+        return rowMinimum;
+    }
+
+    /**
+     * Feeds every character of word through the automaton and returns its
+     * distance to the input word, or maxDistance + 1 if it is too far.
+     */
+    public int distanceTo(String word) {
+        int depth = 0;
+        int distance = tooFar;
+        while (depth < word.length()) {
+            int c = alphabet.indexOf(word.charAt(depth));
+            if (c == Alphabet.NONE || !canMatch(step(depth + 1, c))) {
+                break;
+            }
+            push(depth + 1, c);
+            depth++;
+        }
+        if (depth == word.length()) {
+            distance = getDistance(depth);
+        }
+
+        for (int i = depth; i > 0; i--) {
+            pop(i, alphabet.indexOf(word.charAt(i - 1)));
+        }
+
+        return distance;
+    }
+
+    public void push(int depth, int c) {
+        if (depth >= savedRows.length) {
+            int[] grown = new int[savedRows.length * 2];
+            System.arraycopy(savedRows, 0, grown, 0, savedRows.length);
+            savedRows = grown;
+        }
+        savedRows[depth] = lastRowOfChar[c];
+        lastRowOfChar[c] = depth;
+    }
+
+    public void pop(int depth, int c) {
+        lastRowOfChar[c] = savedRows[depth];
+    }
+
+    /**
+     * Makes rows[index], the row for depth index - 1, ready for this input
+     * word: too far everywhere except the entries that depend on depth alone.
+     */
+    private void prepareRow(int index) {
+        if (index >= rows.length) {
+            int[][] grown = new int[rows.length * 2][];
+            System.arraycopy(rows, 0, grown, 0, rows.length);
+            rows = grown;
+        }
+        if (rows[index] == null || rows[index].length < inputLength + 2) {
+            rows[index] = new int[inputChars.length + 2];
+        }
+
+        int depth = index - 1;
+        int[] row = rows[index];
+        for (int j = 0; j < inputLength + 2; j++) {
+            row[j] = tooFar;
+        }
+        if (depth >= 0) {
+            row[1] = Math.min(depth, tooFar);
+        }
+        if (depth == 0) {
+            for (int j = 1; j <= inputLength; j++) {
+                row[j + 1] = Math.min(j, tooFar);
+            }
+        }
+        readyRows = index + 1;
+    }
+}
@@ -0,0 +1,293 @@
+package spell;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A minimized, read-only form of a trie in which identical subtrees are merged,
+ * so words share their common suffixes as well as their prefixes (a DAWG).
+ *
+ * Once suffixes are shared a node no longer belongs to a single word, so the
+ * frequencies live in their own array indexed by each word's alphabetical rank.
+ * Every state records how many words lie below it, which lets a walk from the
+ * root compute the rank of the word it spells as it goes.
+ */
+public class Dawg implements IRootedTrie {
+    private static final int ROOT = 0;
+
+    private int[] edgeStart;
+    private int[] edgeCount;
+    private boolean[] isWord;
+    private int[] wordsBelow;
+    private byte[] edgeLetter;
+    private int[] edgeTarget;
+    private int stateCount;
+    private int edgeTotal;
+    private final int[] values;
+
+    private Dawg(int wordCount) {
+        edgeStart = new int[16];
+        edgeCount = new int[16];
+        isWord = new boolean[16];
+        wordsBelow = new int[16];
+        edgeLetter = new byte[16];
+        edgeTarget = new int[16];
+        stateCount = 1;
+        edgeTotal = 0;
+        values = new int[wordCount];
+    }
+
+    public static Dawg minimize(IRootedTrie trie) {
+        if (!trie.getAlphabet().isLowercase()) {
+            throw new UnsupportedOperationException("Only words of the letters a to z can be minimized");
+        }
+        Dawg dawg = new Dawg(trie.getWordCount());
+        HashMap<StateKey, Integer> registry = new HashMap<>();
+        int[] nextWord = new int[1];
+        dawg.addEdges(ROOT, dawg.createKey(trie.getRoot(), registry, nextWord));
+
+        return dawg;
+    }
+
+    public Trie toTrie() {
+        return Trie.copyOf(this);
+    }
+
+    @Override
+    public void add(String word) {
+        INode node = find(word);
+        if (node == null) {
+            throw new UnsupportedOperationException("A minimized dictionary cannot take new words: " + word);
+        }
+        node.incrementValue();
+    }
+
+    @Override
+    public INode find(String word) {
+        String wordLower = word.toLowerCase();
+        int state = ROOT;
+        int wordNumber = 0;
+        for (int i = 0; i < wordLower.length(); i++) {
+            int index = wordLower.charAt(i) - 'a';
+            if (isWord[state]) {
+                wordNumber++;
+            }
+            int edge = edgeStart[state];
+            int lastEdge = edge + edgeCount[state];
+            while (edge < lastEdge && edgeLetter[edge] < index) {
+                wordNumber += wordsBelow[edgeTarget[edge]];
+                edge++;
+            }
+            if (edge == lastEdge || edgeLetter[edge] != index) {
+                return null;
+            }
+            state = edgeTarget[edge];
+        }
+
+        return isWord[state] ? new DawgNode(state, wordNumber) : null;
+    }
+
+    @Override
+    public INode getRoot() {
+        return new DawgNode(ROOT, 0);
+    }
+
+    @Override
+    public int getWordCount() {
+        return values.length;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return stateCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder words = new StringBuilder();
+        getWords(ROOT, new StringBuilder(), words);
+
+        return words.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        if (edgeCount[ROOT] == 0) {
+            return 0;
+        }
+
+        return edgeLetter[edgeStart[ROOT]] * stateCount * values.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Dawg)) {
+            return false;
+        }
+        Dawg dawg = (Dawg)o;
+
+        return stateCount == dawg.stateCount
+                && Arrays.equals(values, dawg.values)
+                && equals(ROOT, dawg, ROOT);
+    }
+
+    private boolean equals(int state, Dawg dawg, int otherState) {
+        if (isWord[state] != dawg.isWord[otherState] || edgeCount[state] != dawg.edgeCount[otherState]) {
+            return false;
+        }
+
+        for (int i = 0; i < edgeCount[state]; i++) {
+            int edge = edgeStart[state] + i;
+            int otherEdge = dawg.edgeStart[otherState] + i;
+            if (edgeLetter[edge] != dawg.edgeLetter[otherEdge]
+                    || !equals(edgeTarget[edge], dawg, dawg.edgeTarget[otherEdge])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void getWords(int state, StringBuilder word, StringBuilder words) {
+        if (isWord[state]) {
+            words.append(word).append('\n');
+        }
+        for (int edge = edgeStart[state]; edge < edgeStart[state] + edgeCount[state]; edge++) {
+            word.append((char) ('a' + edgeLetter[edge]));
+            getWords(edgeTarget[edge], word, words);
+            word.setLength(word.length() - 1);
+        }
+    }
+
+    /**
+     * Registers the subtree below node bottom-up, reusing an existing state
+     * whenever one with the same word flag and the same outgoing edges exists.
+     */
+    private int register(INode node, HashMap<StateKey, Integer> registry, int[] nextWord) {
+        StateKey key = createKey(node, registry, nextWord);
+        Integer state = registry.get(key);
+        if (state == null) {
+            state = newState(key);
+            registry.put(key, state);
+        }
+
+        return state;
+    }
+
+    /**
+     * Frequencies are recorded here, in alphabetical order as the words are
+     * reached, which is exactly the rank find computes for each word.
+     */
+    private StateKey createKey(INode node, HashMap<StateKey, Integer> registry, int[] nextWord) {
+        boolean word = node.getValue() > 0;
+        if (word) {
+            values[nextWord[0]++] = node.getValue();
+        }
+
+        INode[] children = node.getChildren();
+        int[] edges = new int[children.length * 2];
+        int length = 0;
+        for (int c = 0; c < children.length; c++) {
+            if (children[c] != null) {
+                edges[length++] = c;
+                edges[length++] = register(children[c], registry, nextWord);
+            }
+        }
+
+        return new StateKey(word, Arrays.copyOf(edges, length));
+    }
+
+    private int newState(StateKey key) {
+        if (stateCount == edgeStart.length) {
+            int capacity = stateCount * 2;
+            edgeStart = Arrays.copyOf(edgeStart, capacity);
+            edgeCount = Arrays.copyOf(edgeCount, capacity);
+            isWord = Arrays.copyOf(isWord, capacity);
+            wordsBelow = Arrays.copyOf(wordsBelow, capacity);
+        }
+        int state = stateCount++;
+        addEdges(state, key);
+
+        return state;
+    }
+
+    private void addEdges(int state, StateKey key) {
+        int count = key.edges.length / 2;
+        if (edgeTotal + count > edgeLetter.length) {
+            int capacity = Math.max(edgeLetter.length * 2, edgeTotal + count);
+            edgeLetter = Arrays.copyOf(edgeLetter, capacity);
+            edgeTarget = Arrays.copyOf(edgeTarget, capacity);
+        }
+
+        isWord[state] = key.word;
+        edgeStart[state] = edgeTotal;
+        edgeCount[state] = count;
+        wordsBelow[state] = key.word ? 1 : 0;
+        for (int i = 0; i < count; i++) {
+            edgeLetter[edgeTotal] = (byte) key.edges[i * 2];
+            edgeTarget[edgeTotal] = key.edges[i * 2 + 1];
+            wordsBelow[state] += wordsBelow[key.edges[i * 2 + 1]];
+            edgeTotal++;
+        }
+    }
+
+    private static class StateKey {
+        private final boolean word;
+        private final int[] edges;
+
+        public StateKey(boolean word, int[] edges) {
+            this.word = word;
+            this.edges = edges;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(edges) * 2 + (word ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof StateKey)) {
+                return false;
+            }
+            StateKey key = (StateKey)o;
+
+            return word == key.word && Arrays.equals(edges, key.edges);
+        }
+    }
+
+    private class DawgNode implements INode {
+        private final int state;
+        private final int wordNumber;
+
+        public DawgNode(int state, int wordNumber) {
+            this.state = state;
+            this.wordNumber = wordNumber;
+        }
+
+        @Override
+        public int getValue() {
+            return isWord[state] ? values[wordNumber] : 0;
+        }
+
+        @Override
+        public void incrementValue() {
+            if (!isWord[state]) {
+                throw new UnsupportedOperationException("A minimized dictionary cannot take new words");
+            }
+            values[wordNumber]++;
+        }
+
+        @Override
+        public INode[] getChildren() {
+            INode[] children = new INode[26];
+            int childWordNumber = wordNumber + (isWord[state] ? 1 : 0);
+            for (int edge = edgeStart[state]; edge < edgeStart[state] + edgeCount[state]; edge++) {
+                children[edgeLetter[edge]] = new DawgNode(edgeTarget[edge], childWordNumber);
+                childWordNumber += wordsBelow[edgeTarget[edge]];
+            }
+
+            return children;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package spell;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+
+/**
+ * Reads and writes compiled dictionaries: a trie, frequencies included, saved
+ * in a binary form that can be memory-mapped and searched without rebuilding it.
+ *
+ * The file is a 16 byte header (magic number, format version, node count and
+ * word count) followed by one 12 byte record per node in breadth-first order:
+ * the node's frequency, a mask of the letters it has children for, and the
+ * index of its first child. A node's children are stored next to each other in
+ * letter order, so the child for a letter is the first child plus the number
+ * of mask bits below that letter.
+ */
+public class DictionaryFile {
+    private static final int MAGIC = 0x5350454C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int NODE_SIZE = 12;
+
+    /**
+     * Compiles a text dictionary. Give the dictionary file name as the first
+     * argument and the name of the compiled file to write as the second argument.
+     */
+    public static void main(String[] args) throws IOException {
+        Trie trie = new Trie();
+        DictionaryLoader loader = new DictionaryLoader(trie);
+        loader.load(args[0]);
+        System.out.printf("Loaded %d words (%d unique) in %.1f ms, %.0f words/s%n",
+                loader.getTokenCount(), trie.getWordCount(), loader.getElapsedNanos() / 1e6, loader.getTokensPerSecond());
+
+        write(trie, args[1]);
+    }
+
+    /**
+     * The node and word counts are patched into the header once every node has
+     * been written, since a DAWG's shared states are written out once per path.
+     */
+    public static void write(IRootedTrie trie, String fileName) throws IOException {
+        if (!trie.getAlphabet().isLowercase()) {
+            throw new UnsupportedOperationException("Only words of the letters a to z can be compiled");
+        }
+        int nodeCount = 0;
+        int wordCount = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(0);
+            out.writeInt(0);
+
+            ArrayDeque<INode> queue = new ArrayDeque<>();
+            queue.add(trie.getRoot());
+            int nextNode = 1;
+            while (!queue.isEmpty()) {
+                INode node = queue.poll();
+                INode[] children = node.getChildren();
+                int mask = 0;
+                for (int i = 0; i < children.length; i++) {
+                    if (children[i] != null) {
+                        mask |= 1 << i;
+                        queue.add(children[i]);
+                    }
+                }
+
+                out.writeInt(node.getValue());
+                out.writeInt(mask);
+                out.writeInt(mask == 0 ? -1 : nextNode);
+                nextNode += Integer.bitCount(mask);
+                nodeCount++;
+                if (node.getValue() > 0) {
+                    wordCount++;
+                }
+            }
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+            file.seek(8);
+            file.writeInt(nodeCount);
+            file.writeInt(wordCount);
+        }
+    }
+
+    public static MappedTrie map(String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException(fileName + " is not a compiled dictionary");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException(fileName + " has unsupported dictionary version " + buffer.getInt(4));
+            }
+            int nodeCount = buffer.getInt(8);
+            int wordCount = buffer.getInt(12);
+            if (buffer.limit() != nodeOffset(nodeCount)) {
+                throw new IOException(fileName + " is truncated");
+            }
+
+            return new MappedTrie(buffer, nodeCount, wordCount);
+        }
+    }
+
+    static int nodeOffset(int node) {
+        return HEADER_SIZE + node * NODE_SIZE;
+    }
+}
@@ -0,0 +1,347 @@
+package spell;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams a dictionary file into a trie. The file is read through one reusable
+ * buffer and split into words of ASCII letters as the bytes go by, so no lines,
+ * regular expressions or intermediate Strings are involved; every other byte
+ * separates words. Files starting with the gzip magic number are decompressed
+ * on the fly.
+ *
+ * A Trie can hold any characters, so for one the file is decoded as UTF-8 and
+ * letters beyond ASCII (accented letters, other scripts), digits, apostrophes
+ * and hyphens are part of words too, so "don't", "e-mail" and "mp3" stay whole.
+ * Apostrophes and hyphens at either end of a word are dropped, so quotes and
+ * dashes around words do not stick to them. Other ASCII punctuation still
+ * separates words. Other tries only hold 'a' to 'z', and for them everything
+ * else separates words.
+ */
+public class DictionaryLoader {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int GZIP_MAGIC = 0x1f8b;
+    private static final int NOT_A_LETTER = -1;
+    private static final int PARTIAL_LETTER = -2;
+    private static final long MIN_RANGE_SIZE = 1 << 20;
+
+    private final ITrie trie;
+    private final boolean decodeUtf8;
+    private final ByteBuffer buffer;
+    private char[] word;
+    private int codePoint;
+    private int pendingBytes;
+    private long tokenCount;
+    private long byteCount;
+    private long elapsedNanos;
+
+    public DictionaryLoader(ITrie trie) {
+        this.trie = trie;
+        decodeUtf8 = trie instanceof Trie;
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        word = new char[64];
+    }
+
+    public void load(String dictionaryFileName) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel file = FileChannel.open(Paths.get(dictionaryFileName), StandardOpenOption.READ)) {
+            if (isGzip(file)) {
+                try (GZIPInputStream in = new GZIPInputStream(Channels.newInputStream(file), BUFFER_SIZE)) {
+                    load(Channels.newChannel(in));
+                }
+            } else {
+                load(file);
+            }
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    public long getTokenCount() {
+        return tokenCount;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getTokensPerSecond() {
+        return (elapsedNanos == 0) ? 0 : tokenCount * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Splits the file into byte ranges, loads each range into its own trie on
+     * the given pool and merges the tries pairwise back into this loader's trie.
+     * A word crossing a range boundary belongs to the range it starts in.
+     * Compressed files cannot be split, so they are loaded on one thread.
+     */
+    public void loadParallel(String dictionaryFileName, ForkJoinPool pool) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel file = FileChannel.open(Paths.get(dictionaryFileName), StandardOpenOption.READ)) {
+            if (!(trie instanceof Trie) || isGzip(file)) {
+                load(dictionaryFileName);
+                return;
+            }
+
+            long rangeSize = Math.max(MIN_RANGE_SIZE, file.size() / (pool.getParallelism() * 4L));
+            DictionaryLoader loaded = pool.invoke(new RangeLoader(file, 0, file.size(), rangeSize));
+            ((Trie)trie).merge((Trie)loaded.trie);
+            tokenCount += loaded.tokenCount;
+            byteCount += loaded.byteCount;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    private void load(ReadableByteChannel channel) throws IOException {
+        byte[] bytes = buffer.array();
+        int length = 0;
+        buffer.clear();
+        while (channel.read(buffer) != -1) {
+            int end = buffer.position();
+            byteCount += end;
+            for (int i = 0; i < end; i++) {
+                int letter = toLetter(bytes[i]);
+                if (letter == PARTIAL_LETTER) {
+                    continue;
+                }
+                if (letter != NOT_A_LETTER) {
+                    length = append(length, letter);
+                } else if (length > 0) {
+                    addWord(length);
+                    length = 0;
+                }
+            }
+            buffer.clear();
+        }
+        if (length > 0) {
+            addWord(length);
+        }
+    }
+
+    /**
+     * Range boundaries are moved forward to the next character boundary, so a
+     * character encoded in several bytes always falls in one range.
+     */
+    private void load(FileChannel file, long start, long end) throws IOException {
+        start = toCharacterBoundary(file, start);
+        end = toCharacterBoundary(file, end);
+        byte[] bytes = buffer.array();
+        int length = 0;
+        long position = start;
+        boolean skipping = start > 0 && isLetterBefore(file, start);
+        byteCount += end - start;
+        buffer.clear();
+
+        int read;
+        while ((read = file.read(buffer, position)) != -1) {
+            for (int i = 0; i < read; i++) {
+                int letter = toLetter(bytes[i]);
+                if (letter == PARTIAL_LETTER) {
+                    continue;
+                }
+                if (skipping) {
+                    skipping = letter != NOT_A_LETTER;
+                } else if (letter != NOT_A_LETTER) {
+                    if (length == 0 && position + i >= end) {
+                        return;
+                    }
+                    length = append(length, letter);
+                } else if (length > 0) {
+                    addWord(length);
+                    length = 0;
+                } else if (position + i >= end) {
+                    return;
+                }
+            }
+            position += read;
+            buffer.clear();
+        }
+        if (length > 0) {
+            addWord(length);
+        }
+    }
+
+    private long toCharacterBoundary(FileChannel file, long position) throws IOException {
+        ByteBuffer next = ByteBuffer.allocate(3);
+        file.read(next, position);
+        int skipped = 0;
+        while (skipped < next.position() && (next.get(skipped) & 0xc0) == 0x80) {
+            skipped++;
+        }
+
+        return position + skipped;
+    }
+
+    /**
+     * Decodes the character ending just before position, which must be on a
+     * character boundary. The decoder is left ready for the character there.
+     */
+    private boolean isLetterBefore(FileChannel file, long position) throws IOException {
+        long from = Math.max(0, position - 4);
+        ByteBuffer before = ByteBuffer.allocate((int) (position - from));
+        file.read(before, from);
+        int letter = NOT_A_LETTER;
+        for (int i = 0; i < before.position(); i++) {
+            letter = toLetter(before.get(i));
+        }
+
+        return letter >= 0;
+    }
+
+    /**
+     * Returns the lowercase letter b completes, NOT_A_LETTER if b is or ends
+     * something else, or PARTIAL_LETTER if b starts or continues a character
+     * encoded in several bytes.
+     */
+    private int toLetter(byte b) {
+        if (b >= 0) {
+            pendingBytes = 0;
+            if (b >= 'A' && b <= 'Z') {
+                return b + ('a' - 'A');
+            }
+
+            if (b >= 'a' && b <= 'z') {
+                return b;
+            }
+
+            return (decodeUtf8 && ((b >= '0' && b <= '9') || isJoiner(b))) ? b : NOT_A_LETTER;
+        }
+        if (!decodeUtf8) {
+            return NOT_A_LETTER;
+        }
+
+        int unsigned = b & 0xff;
+        if (unsigned >= 0xc0) {
+            pendingBytes = (unsigned < 0xe0) ? 1 : (unsigned < 0xf0) ? 2 : 3;
+            codePoint = unsigned & (0x3f >> pendingBytes);
+
+            return PARTIAL_LETTER;
+        }
+        if (pendingBytes == 0) {
+            return NOT_A_LETTER;
+        }
+        codePoint = (codePoint << 6) | (unsigned & 0x3f);
+        if (--pendingBytes > 0) {
+            return PARTIAL_LETTER;
+        }
+        int lower = Character.toLowerCase(codePoint);
+
+        return Character.isLetterOrDigit(lower) ? lower : NOT_A_LETTER;
+    }
+
+    /**
+     * Apostrophes and hyphens join the parts of a word but do not start or
+     * end one.
+     */
+    private static boolean isJoiner(int c) {
+        return c == '\'' || c == '-';
+    }
+
+    private int append(int length, int letter) {
+        if (length + 1 >= word.length) {
+            char[] grown = new char[word.length * 2];
+            System.arraycopy(word, 0, grown, 0, length);
+            word = grown;
+        }
+        if (Character.isBmpCodePoint(letter)) {
+            word[length] = (char) letter;
+
+            return length + 1;
+        }
+        word[length] = Character.highSurrogate(letter);
+        word[length + 1] = Character.lowSurrogate(letter);
+
+        return length + 2;
+    }
+
+    private void addWord(int length) {
+        int start = 0;
+        while (start < length && isJoiner(word[start])) {
+            start++;
+        }
+        while (length > start && isJoiner(word[length - 1])) {
+            length--;
+        }
+        if (start == length) {
+            return;
+        }
+        if (start > 0) {
+            length -= start;
+            System.arraycopy(word, start, word, 0, length);
+        }
+
+        if (trie instanceof Trie) {
+            ((Trie)trie).add(word, length);
+        } else {
+            trie.add(new String(word, 0, length));
+        }
+        tokenCount++;
+    }
+
+    private boolean isGzip(FileChannel file) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(2);
+        while (magic.hasRemaining()) {
+            if (file.read(magic) == -1) {
+                break;
+            }
+        }
+        file.position(0);
+
+        return !magic.hasRemaining() && (magic.getShort(0) & 0xffff) == GZIP_MAGIC;
+    }
+
+    private static class RangeLoader extends RecursiveTask<DictionaryLoader> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel file;
+        private final long start;
+        private final long end;
+        private final long rangeSize;
+
+        public RangeLoader(FileChannel file, long start, long end, long rangeSize) {
+            this.file = file;
+            this.start = start;
+            this.end = end;
+            this.rangeSize = rangeSize;
+        }
+
+        @Override
+        protected DictionaryLoader compute() {
+            if (end - start <= rangeSize) {
+                DictionaryLoader loader = new DictionaryLoader(new Trie());
+                try {
+                    loader.load(file, start, end);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                return loader;
+            }
+
+            long middle = start + (end - start) / 2;
+            RangeLoader left = new RangeLoader(file, start, middle, rangeSize);
+            left.fork();
+            DictionaryLoader right = new RangeLoader(file, middle, end, rangeSize).compute();
+            DictionaryLoader merged = left.join();
+            ((Trie)merged.trie).merge((Trie)right.trie);
+            merged.tokenCount += right.tokenCount;
+            merged.byteCount += right.byteCount;
+
+            return merged;
+        }
+    }
+}
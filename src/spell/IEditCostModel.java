@@ -0,0 +1,43 @@
+package spell;
+
+/**
+ * Prices the edits that turn what was typed into a dictionary word, for
+ * weighted suggestion searches. Costs must not be negative.
+ */
+public interface IEditCostModel {
+
+	/**
+	 * Returns the cost of a character of the word being left out of the input.
+	 *
+	 * @param intended the character of the word that was not typed
+	 * @return the cost of inserting it
+	 */
+	double insertion(char intended);
+
+	/**
+	 * Returns the cost of a character of the input that is not in the word.
+	 *
+	 * @param typed the extra character
+	 * @return the cost of deleting it
+	 */
+	double deletion(char typed);
+
+	/**
+	 * Returns the cost of typing one character in place of another.
+	 * Only called for two different characters.
+	 *
+	 * @param typed the character in the input
+	 * @param intended the character of the word
+	 * @return the cost of the substitution
+	 */
+	double substitution(char typed, char intended);
+
+	/**
+	 * Returns the cost of typing two adjacent characters of the word the other way round.
+	 *
+	 * @param first the first of the two characters in the word
+	 * @param second the second of the two characters in the word
+	 * @return the cost of the transposition
+	 */
+	double transposition(char first, char second);
+}
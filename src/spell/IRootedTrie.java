@@ -0,0 +1,64 @@
+package spell;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A trie whose nodes can be walked from the root, which is what the
+ * spell corrector's similarity search needs beyond the ITrie operations.
+ */
+public interface IRootedTrie extends ITrie, Iterable<String> {
+
+	/**
+	 * Returns the node representing the empty prefix.
+	 *
+	 * @return the root node of the trie
+	 */
+	INode getRoot();
+
+	/**
+	 * Returns the characters that the child indexes of this trie's nodes stand for.
+	 *
+	 * @return the alphabet of this trie, which is 'a' to 'z' unless the trie supports more
+	 */
+	default Alphabet getAlphabet() {
+		return Alphabet.LOWERCASE;
+	}
+
+	/**
+	 * Walks the words of this trie in alphabetical order, without recursion.
+	 *
+	 * @return an iterator over the words, which also gives each word's frequency
+	 */
+	@Override
+	default WordIterator iterator() {
+		return new WordIterator(this);
+	}
+
+	/**
+	 * Returns the words of this trie in alphabetical order, as a lazy stream.
+	 *
+	 * @return a sequential stream of the words
+	 */
+	default Stream<String> words() {
+		int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+
+		return StreamSupport.stream(Spliterators.spliterator(iterator(), getWordCount(), characteristics), false);
+	}
+
+	/**
+	 * Writes the words of this trie to out in the toString format, one word and
+	 * a newline at a time, so no String of the whole dictionary is built.
+	 *
+	 * @param out where to write the words
+	 * @throws IOException if out cannot be written to
+	 */
+	default void writeTo(Writer out) throws IOException {
+		iterator().writeRemaining(out);
+		out.flush();
+	}
+}
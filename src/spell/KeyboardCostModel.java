@@ -0,0 +1,81 @@
+package spell;
+
+/**
+ * Edit costs for typing on a QWERTY keyboard. Hitting a key next to the
+ * intended one, swapping two letters and confusing letters that sound alike
+ * are cheaper than other substitutions; everything else costs 1.
+ */
+public class KeyboardCostModel implements IEditCostModel {
+    private static final String[] ROWS = {"qwertyuiop", "asdfghjkl", "zxcvbnm"};
+    private static final double[] ROW_OFFSETS = {0, 0.25, 0.75};
+    private static final String[] SOUND_ALIKES = {
+            "ck", "cs", "sz", "fv", "iy", "ae", "ei", "ou", "mn", "bp", "dt", "gj"
+    };
+
+    private final double[][] substitutions;
+    private final double transpositionCost;
+
+    public KeyboardCostModel() {
+        this(0.5, 0.75, 0.75);
+    }
+
+    public KeyboardCostModel(double adjacentKeyCost, double soundAlikeCost, double transpositionCost) {
+        this.transpositionCost = transpositionCost;
+        substitutions = new double[26][26];
+        for (int i = 0; i < 26; i++) {
+            for (int j = 0; j < 26; j++) {
+                substitutions[i][j] = 1;
+            }
+        }
+
+        for (String pair : SOUND_ALIKES) {
+            setSubstitution(pair.charAt(0), pair.charAt(1), soundAlikeCost);
+        }
+        for (int row = 0; row < ROWS.length; row++) {
+            for (int column = 0; column < ROWS[row].length(); column++) {
+                double x = column + ROW_OFFSETS[row];
+                for (int otherRow = Math.max(0, row - 1); otherRow <= Math.min(ROWS.length - 1, row + 1); otherRow++) {
+                    for (int otherColumn = 0; otherColumn < ROWS[otherRow].length(); otherColumn++) {
+                        double otherX = otherColumn + ROW_OFFSETS[otherRow];
+                        if (Math.abs(x - otherX) <= 1 && (row != otherRow || column != otherColumn)) {
+                            setSubstitution(ROWS[row].charAt(column), ROWS[otherRow].charAt(otherColumn), adjacentKeyCost);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public double insertion(char intended) {
+        return 1;
+    }
+
+    @Override
+    public double deletion(char typed) {
+        return 1;
+    }
+
+    @Override
+    public double substitution(char typed, char intended) {
+        int from = typed - 'a';
+        int to = intended - 'a';
+        if (from < 0 || from >= 26 || to < 0 || to >= 26) {
+            return 1;
+        }
+
+        return substitutions[from][to];
+    }
+
+    @Override
+    public double transposition(char first, char second) {
+        return transpositionCost;
+    }
+
+    private void setSubstitution(char a, char b, double cost) {
+        int i = a - 'a';
+        int j = b - 'a';
+        substitutions[i][j] = Math.min(substitutions[i][j], cost);
+        substitutions[j][i] = Math.min(substitutions[j][i], cost);
+    }
+}
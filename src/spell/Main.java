@@ -1,36 +1,43 @@
 package spell;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * A simple main class for running the spelling corrector. This class is not
  * used by the passoff program.
  */
 public class Main {
-	
+
 	/**
-	 * Give the dictionary file name as the first argument and the word to correct
-	 * as the second argument.
+	 * Give the dictionary file name as the first argument and the words to
+	 * correct after it, or "--serve" and a port or socket path to keep the
+	 * dictionary loaded and answer requests with a CorrectionServer.
 	 */
 	public static void main(String[] args) throws IOException {
-//		String dictionaryFileName = args[0];
-//		String inputWord = args[1];
-		//if ()
-		String dictionaryFileName = "notsobig.txt";
-		String inputWord = "cooool";
+		if (args.length < 2) {
+			System.out.println("Usage: Main <dictionary> <word>...");
+			System.out.println("       Main <dictionary> --serve <port | socket path> [threads]");
+			return;
+		}
+		String dictionaryFileName = args[0];
+		if (args[1].equals("--serve")) {
+			String[] serverArgs = new String[args.length - 1];
+			serverArgs[0] = dictionaryFileName;
+			System.arraycopy(args, 2, serverArgs, 1, args.length - 2);
+			CorrectionServer.main(serverArgs);
+			return;
+		}
 
-		//
-        //Create an instance of your corrector here
-        //
 		ISpellCorrector corrector = new SpellCorrector();
-
 		corrector.useDictionary(dictionaryFileName);
-		String suggestion = corrector.suggestSimilarWord(inputWord);
+		for (String inputWord : Arrays.copyOfRange(args, 1, args.length)) {
+			String suggestion = corrector.suggestSimilarWord(inputWord);
+			if (suggestion == null) {
+			    suggestion = "No similar word found";
+			}
 
-		if (suggestion == null) {
-		    suggestion = "No similar word found";
+			System.out.println("Suggestion is: " + suggestion);
 		}
-
-		System.out.println("Suggestion is: " + suggestion);
 	}
 }
@@ -0,0 +1,168 @@
+package spell;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A read-only trie answered straight out of a compiled dictionary file that
+ * has been mapped into memory by DictionaryFile. No Node objects are built;
+ * lookups read the node records in place, and INode views are only created for
+ * the nodes handed out by find and getRoot.
+ */
+public class MappedTrie implements IRootedTrie {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final ByteBuffer buffer;
+    private final int nodeCount;
+    private final int wordCount;
+
+    MappedTrie(ByteBuffer buffer, int nodeCount, int wordCount) {
+        this.buffer = buffer;
+        this.nodeCount = nodeCount;
+        this.wordCount = wordCount;
+    }
+
+    @Override
+    public void add(String word) {
+        throw new UnsupportedOperationException("A compiled dictionary is read-only");
+    }
+
+    @Override
+    public INode find(String word) {
+        String wordLower = word.toLowerCase();
+        int node = ROOT;
+        for (int i = 0; i < wordLower.length(); i++) {
+            node = getChild(node, wordLower.charAt(i) - 'a');
+            if (node == NONE) {
+                return null;
+            }
+        }
+
+        return (getValue(node) > 0) ? new MappedNode(node) : null;
+    }
+
+    @Override
+    public INode getRoot() {
+        return new MappedNode(ROOT);
+    }
+
+    @Override
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder words = new StringBuilder();
+        getWords(ROOT, new StringBuilder(), words);
+
+        return words.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        int mask = getChildMask(ROOT);
+        if (mask == 0) {
+            return 0;
+        }
+
+        return Integer.numberOfTrailingZeros(mask) * nodeCount * wordCount;
+    }
+
+    /**
+     * Compiled dictionaries always lay their nodes out in the same breadth-first
+     * order, so two of them hold the same trie exactly when their bytes match.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof MappedTrie)) {
+            return false;
+        }
+        MappedTrie trie = (MappedTrie)o;
+
+        return nodeCount == trie.nodeCount
+                && wordCount == trie.wordCount
+                && buffer.equals(trie.buffer);
+    }
+
+    private void getWords(int node, StringBuilder word, StringBuilder words) {
+        if (getValue(node) > 0) {
+            words.append(word).append('\n');
+        }
+        int mask = getChildMask(node);
+        int child = getFirstChild(node);
+        for (int i = 0; i < 26; i++) {
+            if ((mask & (1 << i)) != 0) {
+                word.append((char) ('a' + i));
+                getWords(child++, word, words);
+                word.setLength(word.length() - 1);
+            }
+        }
+    }
+
+    /**
+     * Returns NONE for indexes outside a to z, which a compiled dictionary
+     * never holds.
+     */
+    private int getChild(int node, int index) {
+        if (index < 0 || index >= 26) {
+            return NONE;
+        }
+        int bit = 1 << index;
+        int mask = getChildMask(node);
+        if ((mask & bit) == 0) {
+            return NONE;
+        }
+
+        return getFirstChild(node) + Integer.bitCount(mask & (bit - 1));
+    }
+
+    private int getValue(int node) {
+        return buffer.getInt(DictionaryFile.nodeOffset(node));
+    }
+
+    private int getChildMask(int node) {
+        return buffer.getInt(DictionaryFile.nodeOffset(node) + 4);
+    }
+
+    private int getFirstChild(int node) {
+        return buffer.getInt(DictionaryFile.nodeOffset(node) + 8);
+    }
+
+    private class MappedNode implements INode {
+        private final int node;
+
+        public MappedNode(int node) {
+            this.node = node;
+        }
+
+        @Override
+        public int getValue() {
+            return MappedTrie.this.getValue(node);
+        }
+
+        @Override
+        public void incrementValue() {
+            throw new UnsupportedOperationException("A compiled dictionary is read-only");
+        }
+
+        @Override
+        public INode[] getChildren() {
+            INode[] children = new INode[26];
+            int mask = getChildMask(node);
+            int child = getFirstChild(node);
+            for (int i = 0; i < 26; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    children[i] = new MappedNode(child++);
+                }
+            }
+
+            return children;
+        }
+    }
+}
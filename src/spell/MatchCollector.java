@@ -0,0 +1,21 @@
+package spell;
+
+/**
+ * Receives the dictionary words a TrieSearch finds within its maximum distance
+ * of the input word, and tells the search which subtrees are still worth
+ * visiting.
+ */
+interface MatchCollector {
+    /**
+     * Whether a subtree could still change what has been collected, given that
+     * none of its words is closer than minimumDistance and none is more
+     * frequent than maxFrequency.
+     */
+    boolean wants(int minimumDistance, int maxFrequency);
+
+    /**
+     * Called with the first length characters of word, in the order the
+     * search reaches them, which is alphabetical.
+     */
+    void collect(char[] word, int length, int distance, int frequency);
+}
@@ -0,0 +1,88 @@
+package spell;
+
+import java.util.EnumMap;
+
+/**
+ * What a CorrectorMetrics had recorded at one moment: a latency histogram per
+ * phase, in nanoseconds, the number of calls with each outcome, and totals of
+ * the work searches did.
+ */
+public class MetricsSnapshot {
+    private final EnumMap<CorrectorMetrics.Phase, LatencyHistogram.Snapshot> latencies;
+    private final EnumMap<CorrectorMetrics.Outcome, Long> outcomes;
+    private final long nodesVisited;
+    private final long matchesFound;
+    private final long ties;
+
+    MetricsSnapshot(EnumMap<CorrectorMetrics.Phase, LatencyHistogram.Snapshot> latencies,
+                    EnumMap<CorrectorMetrics.Outcome, Long> outcomes, long nodesVisited, long matchesFound, long ties) {
+        this.latencies = latencies;
+        this.outcomes = outcomes;
+        this.nodesVisited = nodesVisited;
+        this.matchesFound = matchesFound;
+        this.ties = ties;
+    }
+
+    static MetricsSnapshot empty() {
+        EnumMap<CorrectorMetrics.Phase, LatencyHistogram.Snapshot> latencies = new EnumMap<>(CorrectorMetrics.Phase.class);
+        for (CorrectorMetrics.Phase phase : CorrectorMetrics.Phase.values()) {
+            latencies.put(phase, new LatencyHistogram.Snapshot(new long[0]));
+        }
+        EnumMap<CorrectorMetrics.Outcome, Long> outcomes = new EnumMap<>(CorrectorMetrics.Outcome.class);
+        for (CorrectorMetrics.Outcome outcome : CorrectorMetrics.Outcome.values()) {
+            outcomes.put(outcome, 0L);
+        }
+
+        return new MetricsSnapshot(latencies, outcomes, 0, 0, 0);
+    }
+
+    public LatencyHistogram.Snapshot getLatency(CorrectorMetrics.Phase phase) {
+        return latencies.get(phase);
+    }
+
+    public long getSuggestionCount() {
+        return latencies.get(CorrectorMetrics.Phase.TOTAL).getCount();
+    }
+
+    public long getSearchCount() {
+        return latencies.get(CorrectorMetrics.Phase.SEARCH).getCount();
+    }
+
+    public long getOutcomeCount(CorrectorMetrics.Outcome outcome) {
+        return outcomes.get(outcome);
+    }
+
+    /**
+     * The number of trie nodes searches stepped the automaton through, which
+     * is what a search's cost mostly depends on.
+     */
+    public long getNodesVisited() {
+        return nodesVisited;
+    }
+
+    public long getMatchesFound() {
+        return matchesFound;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        for (CorrectorMetrics.Phase phase : CorrectorMetrics.Phase.values()) {
+            LatencyHistogram.Snapshot latency = latencies.get(phase);
+            report.append(String.format("%-7s %10d calls, mean %.1f us, p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                    phase.name().toLowerCase(), latency.getCount(), latency.getMean() / 1e3,
+                    latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3,
+                    latency.getMax() / 1e3));
+        }
+        for (CorrectorMetrics.Outcome outcome : CorrectorMetrics.Outcome.values()) {
+            report.append(String.format("%-18s %10d%n", outcome.name().toLowerCase(), outcomes.get(outcome)));
+        }
+        report.append(String.format("nodes visited %d, matches found %d, ties %d", nodesVisited, matchesFound, ties));
+
+        return report.toString();
+    }
+}
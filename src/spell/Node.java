@@ -1,12 +1,20 @@
 package spell;
 
+import java.util.Arrays;
+
 public class Node implements INode {
     private int value;
+    private int maxValue;
     private INode[] children;
+    private String[] completions;
+    private int[] completionValues;
 
     public Node() {
         value = 0;
+        maxValue = 0;
         children = new INode[26];
+        completions = null;
+        completionValues = null;
     }
 
     @Override
@@ -17,6 +25,35 @@ public class Node implements INode {
     @Override
     public void incrementValue() {
         value++;
+        raiseMaxValue(value);
+    }
+
+    public void addValue(int amount) {
+        value += amount;
+        raiseMaxValue(value);
+    }
+
+    /**
+     * The highest frequency of any word in this node's subtree, itself
+     * included. Trie keeps it up to date as words are added or merged in.
+     */
+    public int getMaxValue() {
+        return maxValue;
+    }
+
+    public void raiseMaxValue(int frequency) {
+        if (frequency > maxValue) {
+            maxValue = frequency;
+        }
+    }
+
+    public void updateMaxValue() {
+        maxValue = value;
+        for (INode child : children) {
+            if (child != null) {
+                raiseMaxValue(((Node)child).getMaxValue());
+            }
+        }
     }
 
     @Override
@@ -24,6 +61,39 @@ public class Node implements INode {
         return children;
     }
 
+    /**
+     * Returns the child at index, or null if there is none. Child arrays start
+     * with room for 'a' to 'z' and only grow for nodes that need more.
+     */
+    public INode getChild(int index) {
+        return (index < children.length) ? children[index] : null;
+    }
+
+    public void setChild(int index, INode child) {
+        if (index >= children.length) {
+            children = Arrays.copyOf(children, Math.max(index + 1, children.length * 2));
+        }
+        children[index] = child;
+    }
+
+    /**
+     * The most frequent words in this node's subtree, most frequent first and
+     * alphabetically among equals, or null if Trie has not prepared them. The
+     * arrays may be shared with a child, so they are replaced, never changed.
+     */
+    public String[] getCompletions() {
+        return completions;
+    }
+
+    public int[] getCompletionValues() {
+        return completionValues;
+    }
+
+    public void setCompletions(String[] completions, int[] completionValues) {
+        this.completions = completions;
+        this.completionValues = completionValues;
+    }
+
     public int getNumChildren() {
         int numChildren = 0;
         for (INode child : children) {
@@ -36,43 +106,55 @@ public class Node implements INode {
         return numChildren;
     }
 
-    public String getWords(String word) {
-        StringBuilder words = new StringBuilder();
+    /**
+     * Appends the words below this node to words, word being the characters
+     * leading to it. One builder holds the word throughout, grown and shrunk
+     * as the recursion goes down and back up.
+     */
+    public void getWords(StringBuilder word, StringBuilder words, Alphabet alphabet) {
         if (value > 0) {
             words.append(word).append('\n');
         }
-        for (int i = 0; i < children.length; i++) {
-            if (children[i] != null) {
-                Node node = (Node)children[i];
-                words.append(node.getWords(word + (char) ('a' + i)));
+        for (int i : alphabet.getOrder()) {
+            if (i < children.length && children[i] != null) {
+                word.append(alphabet.charAt(i));
+                ((Node)children[i]).getWords(word, words, alphabet);
+                word.setLength(word.length() - 1);
             }
         }
-
-        return words.toString();
-    }
-
-    public String getWords() {
-        return getWords("");
     }
 
-    public boolean equals(INode node) {
+    /**
+     * Compares this node's subtree with node's, where child indexes stand for
+     * characters of alphabet here and of otherAlphabet in node.
+     */
+    public boolean equals(INode node, Alphabet alphabet, Alphabet otherAlphabet) {
         if (node.getValue() != value) {
             return false;
         }
 
+        INode[] otherChildren = node.getChildren();
+        int unmatched = 0;
+        for (INode child : otherChildren) {
+            if (child != null) {
+                unmatched++;
+            }
+        }
         for (int i = 0; i < children.length; i++) {
-            if (children[i] == null && node.getChildren()[i] == null) {
+            if (children[i] == null) {
                 continue;
             }
-            if (children[i] == null || node.getChildren()[i] == null) {
+            int j = (alphabet == otherAlphabet) ? i : otherAlphabet.indexOf(alphabet.charAt(i));
+            if (j == Alphabet.NONE || j >= otherChildren.length || otherChildren[j] == null) {
                 return false;
             }
             Node child = (Node)children[i];
-            if (!child.equals(node.getChildren()[i])) {
+            if (!child.equals(otherChildren[j], alphabet, otherAlphabet)) {
                 return false;
             }
+            unmatched--;
         }
 
-        return true;
+        return unmatched == 0;
     }
 }
@@ -1,181 +1,361 @@
 package spell;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class SpellCorrector implements ISpellCorrector {
-    private ITrie trie;
+    private static final int DEFAULT_EDIT_DISTANCE = 2;
+    private static final int MAX_EDIT_DISTANCE = 4;
+    private static final int BATCH_SPLIT_SIZE = 8;
+    private static final ThreadLocal<TrieSearch> SEARCHES = ThreadLocal.withInitial(TrieSearch::new);
+    private static final ThreadLocal<BestMatch> BEST_MATCHES = ThreadLocal.withInitial(BestMatch::new);
+
+    private volatile IRootedTrie trie;
+    private volatile SuggestionCache cache;
+    private volatile CorrectorMetrics metrics;
+    private boolean minimizeDictionary;
+    private boolean parallelBuild;
 
     public SpellCorrector() {
-        trie = new Trie();
+        this(new Trie());
+    }
+
+    public SpellCorrector(IRootedTrie trie) {
+        this.trie = trie;
+        metrics = CorrectorMetrics.NOOP;
+        minimizeDictionary = false;
+        parallelBuild = false;
+    }
+
+    public void setMinimizeDictionary(boolean minimizeDictionary) {
+        this.minimizeDictionary = minimizeDictionary;
+    }
+
+    public void setParallelBuild(boolean parallelBuild) {
+        this.parallelBuild = parallelBuild;
+    }
+
+    /**
+     * Adds one occurrence of a word to the dictionary. Words can be learned
+     * while other threads are asking for suggestions only if the corrector was
+     * built over a ConcurrentTrie.
+     */
+    public void add(String word) {
+        trie.add(word);
+        invalidateCache();
+    }
+
+    /**
+     * Puts a cache in front of suggestSimilarWord, or removes it when given
+     * null. Only lookups at the default edit distance are cached.
+     */
+    public void setSuggestionCache(SuggestionCache cache) {
+        this.cache = cache;
+    }
+
+    public SuggestionCache getSuggestionCache() {
+        return cache;
+    }
+
+    /**
+     * Records what suggestSimilarWord calls do into the given metrics, such as
+     * a RecordingMetrics, or stops recording when given null. Batches from
+     * suggestSimilarWords are not recorded.
+     */
+    public void setMetrics(CorrectorMetrics metrics) {
+        this.metrics = (metrics == null) ? CorrectorMetrics.NOOP : metrics;
+    }
+
+    public CorrectorMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getNodeCount() {
+        return trie.getNodeCount();
+    }
+
+    public void useCompiledDictionary(String compiledFileName) throws IOException {
+        trie = DictionaryFile.map(compiledFileName);
+        invalidateCache();
+    }
+
+    public void compileDictionary(String compiledFileName) throws IOException {
+        DictionaryFile.write(trie, compiledFileName);
     }
 
     @Override
-    public void useDictionary(String dictionaryFileName) {
+    public void useDictionary(String dictionaryFileName) throws IOException {
+        IRootedTrie current = trie;
+        if (current instanceof Dawg || current instanceof MappedTrie) {
+            current = Trie.copyOf(current);
+        }
         try {
-            File file = new File(dictionaryFileName);
-            Scanner reader = new Scanner(file);
-            ArrayList<String> words = new ArrayList<>();
-            while (reader.hasNextLine()) {
-                String[] data = reader.nextLine().split("\\s+");
-                words.addAll(Arrays.asList(data));
-            }
-            for (String word : words) {
-                trie.add(word);
-            }
-            reader.close();
-        } catch (FileNotFoundException e) {
+            load(current, dictionaryFileName);
+        } catch (NoSuchFileException e) {
             System.out.println("An error occurred.");
             e.printStackTrace();
         }
+        trie = finishDictionary(current);
+        invalidateCache();
     }
 
-    @Override
-    public String suggestSimilarWord(String inputWord) {
-        if (trie.find(inputWord) != null) {
-            return inputWord.toLowerCase();
-        } else {
-            return findSimilarWord(inputWord);
-        }
+    public CompletableFuture<Void> reloadDictionary(String dictionaryFileName) {
+        return reloadDictionary(dictionaryFileName, ForkJoinPool.commonPool());
     }
 
-    private String findSimilarWord(String inputWord) {
-        ArrayList<String> suggestions = new ArrayList<>();
-        getByEditDistance(suggestions, inputWord, 1);
+    /**
+     * Builds a new dictionary from the file on the given executor and swaps it
+     * in once it is complete. Queries keep using the old dictionary until then
+     * and never see a partly built one. If the file cannot be read the returned
+     * future fails and the old dictionary stays in place. Words added while the
+     * reload is running are not carried over.
+     */
+    public CompletableFuture<Void> reloadDictionary(String dictionaryFileName, Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            IRootedTrie replacement = (trie instanceof ConcurrentTrie) ? new ConcurrentTrie() : new Trie();
+            try {
+                load(replacement, dictionaryFileName);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            trie = finishDictionary(replacement);
+            invalidateCache();
+        }, executor);
+    }
 
-        if (suggestions.size() == 0) {
-            ArrayList<String> suggestionsDistance2 = new ArrayList<>();
-            getByEditDistance(suggestionsDistance2, inputWord, 2);
-            if (suggestionsDistance2.size() == 0) {
-                return null;
-            } else if (suggestionsDistance2.size() == 1) {
-                return suggestionsDistance2.get(0);
-            } else {
-                String wordToSuggest = findHighestFrequencyWord(suggestionsDistance2);
-                if (wordToSuggest == null) {
-                    wordToSuggest = findFirstInAlphabet(suggestionsDistance2);
-                }
+    /**
+     * A dictionary with characters other than 'a' to 'z' cannot be minimized,
+     * so it stays a trie.
+     */
+    private IRootedTrie finishDictionary(IRootedTrie loaded) {
+        if (minimizeDictionary && loaded.getAlphabet().isLowercase()) {
+            return Dawg.minimize(loaded);
+        }
+        if (loaded instanceof Trie) {
+            ((Trie)loaded).prepareCompletions();
+        }
 
-                return wordToSuggest;
-            }
-        } else if (suggestions.size() == 1) {
-            return suggestions.get(0);
-        } else {
-            String wordToSuggest = findHighestFrequencyWord(suggestions);
-            if (wordToSuggest == null) {
-                wordToSuggest = findFirstInAlphabet(suggestions);
-            }
+        return loaded;
+    }
 
-            return wordToSuggest;
+    private void invalidateCache() {
+        SuggestionCache currentCache = cache;
+        if (currentCache != null) {
+            currentCache.invalidateAll();
         }
     }
 
-    private String findHighestFrequencyWord(ArrayList<String> suggestions) {
-        int highestFrequency = 0;
-        String wordToSuggest = null;
+    private void load(IRootedTrie target, String dictionaryFileName) throws IOException {
+        DictionaryLoader loader = new DictionaryLoader(target);
+        if (parallelBuild) {
+            loader.loadParallel(dictionaryFileName, ForkJoinPool.commonPool());
+        } else {
+            loader.load(dictionaryFileName);
+        }
+    }
 
-        for (String suggestion : suggestions) {
-            int frequency = trie.find(suggestion).getValue();
-            if (frequency > highestFrequency) {
-                highestFrequency = frequency;
-                wordToSuggest = suggestion;
-            } else if (frequency == highestFrequency && !suggestion.equals(wordToSuggest)) {
-                wordToSuggest = null;
-            }
+    @Override
+    public String suggestSimilarWord(String inputWord) {
+        return suggestSimilarWord(inputWord, DEFAULT_EDIT_DISTANCE);
+    }
+
+    public String suggestSimilarWord(String inputWord, int maxEditDistance) {
+        if (maxEditDistance < 1 || maxEditDistance > MAX_EDIT_DISTANCE) {
+            throw new IllegalArgumentException("Edit distance must be between 1 and " + MAX_EDIT_DISTANCE);
         }
 
-        return wordToSuggest;
+        CorrectorMetrics currentMetrics = metrics;
+        long start = currentMetrics.startPhase();
+        String suggestion;
+        SuggestionCache currentCache = cache;
+        if (currentCache == null || maxEditDistance != DEFAULT_EDIT_DISTANCE) {
+            suggestion = suggestSimilarWord(trie, inputWord, maxEditDistance, currentMetrics);
+        } else {
+            suggestion = currentCache.get(inputWord.toLowerCase(),
+                    word -> suggestSimilarWord(trie, word, maxEditDistance, currentMetrics));
+        }
+        currentMetrics.endPhase(CorrectorMetrics.Phase.TOTAL, start);
+
+        return suggestion;
     }
 
-    private String findFirstInAlphabet(ArrayList<String> suggestions) {
-        String wordToSuggest = suggestions.get(0);
-        for (int i = 1; i < suggestions.size(); i++) {
-            Trie trie = (Trie)this.trie;
-            INode node1 = trie.find(wordToSuggest);
-            INode node2 = trie.find(suggestions.get(i));
-            if (trie.compareNodes(node1, node2) == node2){
-                wordToSuggest = suggestions.get(i);
-            }
+    private String suggestSimilarWord(IRootedTrie current, String inputWord, int maxEditDistance,
+                                      CorrectorMetrics currentMetrics) {
+        long start = currentMetrics.startPhase();
+        TrieSearch search = SEARCHES.get();
+        search.useInput(inputWord);
+        INode node = (current instanceof Trie)
+                ? ((Trie)current).find(search.getInput(), search.getInputLength())
+                : current.find(inputWord);
+        long searchStart = currentMetrics.endPhase(CorrectorMetrics.Phase.LOOKUP, start);
+        if (node != null) {
+            currentMetrics.recordOutcome(CorrectorMetrics.Outcome.EXACT);
+            return inputWord.toLowerCase();
         }
 
-        return wordToSuggest;
+        String suggestion = findSimilarWord(current, search, maxEditDistance, currentMetrics);
+        currentMetrics.endPhase(CorrectorMetrics.Phase.SEARCH, searchStart);
+
+        return suggestion;
     }
 
-    private void getByEditDistance(
-        ArrayList<String> suggestions,
-        String inputWord,
-        int editDistance
-    ) {
-        HashSet<String> generatedStrings = new HashSet<>();
-        getDeletionDistanceWords(inputWord, generatedStrings);
-        getTranspositionDistanceWords(inputWord, generatedStrings);
-        getAlterationDistanceWords(inputWord, generatedStrings);
-        getInsertionDistanceWords(inputWord, generatedStrings);
+    public List<Suggestion> suggest(String inputWord, int k) {
+        return suggest(inputWord, k, DEFAULT_EDIT_DISTANCE);
+    }
 
-        for (String generatedString : generatedStrings) {
-            if (trie.find(generatedString) != null) {
-                suggestions.add(generatedString);
-            }
+    /**
+     * Returns up to k dictionary words within maxEditDistance of the input
+     * word, best first, with the distance and frequency that ranked them. The
+     * input word itself comes first, at distance 0, if it is in the dictionary.
+     */
+    public List<Suggestion> suggest(String inputWord, int k, int maxEditDistance) {
+        if (maxEditDistance < 1 || maxEditDistance > MAX_EDIT_DISTANCE) {
+            throw new IllegalArgumentException("Edit distance must be between 1 and " + MAX_EDIT_DISTANCE);
         }
-
-        if (editDistance == 2) {
-            HashSet<String> generatedStringsDistance1 = new HashSet<>(generatedStrings);
-            for (String generatedStringDistance1 : generatedStringsDistance1) {
-                getDeletionDistanceWords(generatedStringDistance1, generatedStrings);
-                getTranspositionDistanceWords(generatedStringDistance1, generatedStrings);
-                getAlterationDistanceWords(generatedStringDistance1, generatedStrings);
-                getInsertionDistanceWords(generatedStringDistance1, generatedStrings);
-            }
-            for (String generatedString : generatedStrings) {
-                if (trie.find(generatedString) != null) {
-                    suggestions.add(generatedString);
-                }
-            }
+        if (k < 1) {
+            throw new IllegalArgumentException("Must ask for at least one suggestion");
         }
+
+        TrieSearch search = SEARCHES.get();
+        search.useInput(inputWord);
+        TopMatches matches = new TopMatches(k);
+        search.search(trie, maxEditDistance, matches);
+
+        return matches.getMatches();
     }
 
-    private void getDeletionDistanceWords(String wordToGenerateFrom, HashSet<String> generatedStrings) {
-        if (wordToGenerateFrom.length() <= 1) {
-            return;
+    /**
+     * Returns up to k dictionary words whose cheapest edits from the input
+     * word, priced by the cost model, cost at most maxCost, cheapest first.
+     */
+    public List<Suggestion> suggest(String inputWord, int k, IEditCostModel costModel, double maxCost) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Must ask for at least one suggestion");
         }
-        for (int i = 0; i < wordToGenerateFrom.length(); i++) {
-            String suggestion = wordToGenerateFrom.substring(0, i) + wordToGenerateFrom.substring(i + 1);
-            generatedStrings.add(suggestion);
+        if (maxCost < 0) {
+            throw new IllegalArgumentException("Maximum cost must not be negative");
         }
+
+        return new WeightedSearch(inputWord, costModel, maxCost).search(trie, k);
     }
 
-    private void getTranspositionDistanceWords(String wordToGenerateFrom, HashSet<String> generatedStrings) {
-        if (wordToGenerateFrom.length() <= 1) {
-            return;
+    /**
+     * Returns the k most frequent dictionary words starting with prefix, most
+     * frequent first and alphabetically among equals.
+     */
+    public List<String> complete(String prefix, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Must ask for at least one completion");
         }
-        for (int i = 0; i < wordToGenerateFrom.length() - 1; i++) {
-            String swappedChars = wordToGenerateFrom.substring(i+1, i+2) + wordToGenerateFrom.charAt(i);
-            String suggestion = wordToGenerateFrom.substring(0, i) + swappedChars + wordToGenerateFrom.substring(i + 2);
-            generatedStrings.add(suggestion);
+        IRootedTrie current = trie;
+        if (current instanceof Trie) {
+            return ((Trie)current).complete(prefix, k);
         }
+
+        return new CompletionSearch(k).complete(current, prefix);
     }
 
-    private void getAlterationDistanceWords(String wordToGenerateFrom, HashSet<String> generatedStrings) {
-        for (int w = 0; w < wordToGenerateFrom.length(); w++) {
-            for (int c = 0; c < 26; c++) {
-                char replacementChar = (char)('a' + c);
-                if (wordToGenerateFrom.codePointAt(w) == replacementChar) {
-                    continue;
+    public List<String> suggestSimilarWords(List<String> inputWords) {
+        return suggestSimilarWords(inputWords, DEFAULT_EDIT_DISTANCE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Suggests a word for every input word, in input order. Each distinct word
+     * is looked up once, words found in the dictionary are answered straight
+     * away and the rest are searched in parallel on the given pool. The whole
+     * batch is answered from the same dictionary even if a reload finishes
+     * while it runs.
+     */
+    public List<String> suggestSimilarWords(List<String> inputWords, int maxEditDistance, ForkJoinPool pool) {
+        if (maxEditDistance < 1 || maxEditDistance > MAX_EDIT_DISTANCE) {
+            throw new IllegalArgumentException("Edit distance must be between 1 and " + MAX_EDIT_DISTANCE);
+        }
+
+        IRootedTrie current = trie;
+        HashMap<String, String> suggestions = new HashMap<>();
+        ArrayList<String> misses = new ArrayList<>();
+        for (String inputWord : inputWords) {
+            String wordLower = inputWord.toLowerCase();
+            if (!suggestions.containsKey(wordLower)) {
+                if (current.find(wordLower) != null) {
+                    suggestions.put(wordLower, wordLower);
+                } else {
+                    suggestions.put(wordLower, null);
+                    misses.add(wordLower);
                 }
-                String suggestion = wordToGenerateFrom.substring(0, w) + replacementChar + wordToGenerateFrom.substring(w + 1);
-                generatedStrings.add(suggestion);
             }
         }
+
+        String[] found = new String[misses.size()];
+        pool.invoke(new SuggestionTask(current, misses, found, 0, found.length, maxEditDistance));
+        for (int i = 0; i < found.length; i++) {
+            suggestions.put(misses.get(i), found[i]);
+        }
+
+        ArrayList<String> results = new ArrayList<>(inputWords.size());
+        for (String inputWord : inputWords) {
+            results.add(suggestions.get(inputWord.toLowerCase()));
+        }
+
+        return results;
     }
 
-    private void getInsertionDistanceWords(String wordToGenerateFrom, HashSet<String> generatedStrings) {
-        for (int w = 0; w < wordToGenerateFrom.length() + 1; w++) {
-            for (int c = 0; c < 26; c++) {
-                char insertionChar = (char)('a' + c);
-                String suggestion = wordToGenerateFrom.substring(0, w) + insertionChar + wordToGenerateFrom.substring(w);
-                generatedStrings.add(suggestion);
+    private String findSimilarWord(IRootedTrie current, String inputWord, int maxEditDistance,
+                                   CorrectorMetrics currentMetrics) {
+        TrieSearch search = SEARCHES.get();
+        search.useInput(inputWord);
+
+        return findSimilarWord(current, search, maxEditDistance, currentMetrics);
+    }
+
+    private String findSimilarWord(IRootedTrie current, TrieSearch search, int maxEditDistance,
+                                   CorrectorMetrics currentMetrics) {
+        BestMatch match = BEST_MATCHES.get();
+        match.reset(maxEditDistance);
+        search.search(current, maxEditDistance, match);
+        currentMetrics.recordSearch(search.getNodesVisited(), search.getMatchesFound(), match.getTies());
+        currentMetrics.recordOutcome(CorrectorMetrics.outcomeOf(match.getDistance()));
+
+        return match.getMatch();
+    }
+
+    private class SuggestionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IRootedTrie current;
+        private final List<String> words;
+        private final String[] found;
+        private final int start;
+        private final int end;
+        private final int maxEditDistance;
+
+        public SuggestionTask(IRootedTrie current, List<String> words, String[] found, int start, int end, int maxEditDistance) {
+            this.current = current;
+            this.words = words;
+            this.found = found;
+            this.start = start;
+            this.end = end;
+            this.maxEditDistance = maxEditDistance;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= BATCH_SPLIT_SIZE) {
+                for (int i = start; i < end; i++) {
+                    found[i] = findSimilarWord(current, words.get(i), maxEditDistance, CorrectorMetrics.NOOP);
+                }
+                return;
             }
+
+            int middle = start + (end - start) / 2;
+            invokeAll(new SuggestionTask(current, words, found, start, middle, maxEditDistance),
+                    new SuggestionTask(current, words, found, middle, end, maxEditDistance));
         }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package spell;
+
+/**
+ * A suggested word together with what ranked it: its edit distance from the
+ * input word and its frequency in the dictionary. Suggestions sort best first,
+ * closest words before further ones, then more frequent before less frequent,
+ * then alphabetically.
+ *
+ * Suggestions from a weighted search are ranked by the cost of their cheapest
+ * edits rather than by how many edits there are; the distance is then the
+ * number of edits in that cheapest sequence. For unweighted searches the cost
+ * and the distance are the same.
+ */
+public class Suggestion implements Comparable<Suggestion> {
+    private final String word;
+    private final int distance;
+    private final double cost;
+    private final int frequency;
+
+    public Suggestion(String word, int distance, int frequency) {
+        this(word, distance, distance, frequency);
+    }
+
+    public Suggestion(String word, int distance, double cost, int frequency) {
+        this.word = word;
+        this.distance = distance;
+        this.cost = cost;
+        this.frequency = frequency;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getDistance() {
+        return distance;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public int getFrequency() {
+        return frequency;
+    }
+
+    @Override
+    public int compareTo(Suggestion suggestion) {
+        if (cost != suggestion.cost) {
+            return Double.compare(cost, suggestion.cost);
+        } else if (distance != suggestion.distance) {
+            return Integer.compare(distance, suggestion.distance);
+        } else if (frequency != suggestion.frequency) {
+            return Integer.compare(suggestion.frequency, frequency);
+        }
+
+        return word.compareTo(suggestion.word);
+    }
+
+    @Override
+    public String toString() {
+        if (cost != distance) {
+            return word + " (cost " + cost + ", distance " + distance + ", frequency " + frequency + ")";
+        }
+
+        return word + " (distance " + distance + ", frequency " + frequency + ")";
+    }
+
+    @Override
+    public int hashCode() {
+        return word.hashCode() * 31 + Double.hashCode(cost) * 7 + frequency;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Suggestion)) {
+            return false;
+        }
+        Suggestion suggestion = (Suggestion)o;
+
+        return word.equals(suggestion.word)
+                && distance == suggestion.distance
+                && cost == suggestion.cost
+                && frequency == suggestion.frequency;
+    }
+}
@@ -0,0 +1,282 @@
+package spell;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A size-bounded cache of suggestions keyed by lowercased input word. Words
+ * without a suggestion are cached too, so repeated garbage input does not
+ * trigger a fresh search every time.
+ *
+ * The cache is split into segments by key hash, each guarded by its own lock,
+ * so lookups for different words rarely contend. Entries are evicted either
+ * least recently used first (LRU) or by W-TinyLFU, which keeps a small LRU
+ * window for new entries and only lets an entry leaving the window into the
+ * main cache if it has been asked for more often than the entry it would push
+ * out.
+ */
+public class SuggestionCache {
+    public enum Policy { LRU, TINY_LFU }
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final String NO_SUGGESTION = new String();
+
+    private final Segment[] segments;
+    private final int maximumSize;
+    private final Policy policy;
+    private final AtomicLong generation;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    public SuggestionCache(int maximumSize, Policy policy) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.maximumSize = maximumSize;
+        this.policy = policy;
+        generation = new AtomicLong();
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int capacity = maximumSize / segmentCount + ((i < maximumSize % segmentCount) ? 1 : 0);
+            segments[i] = (policy == Policy.LRU) ? new LruSegment(capacity) : new TinyLfuSegment(capacity);
+        }
+    }
+
+    /**
+     * Returns the cached suggestion for a word, computing and caching it with
+     * the given function on a miss. A result computed while the cache was
+     * being invalidated is returned but not cached, since it may come from the
+     * dictionary as it was before the change.
+     */
+    public String get(String word, Function<String, String> suggester) {
+        Segment segment = segmentFor(word);
+        String suggestion = segment.get(word);
+        if (suggestion != null) {
+            hits.increment();
+            return (suggestion == NO_SUGGESTION) ? null : suggestion;
+        }
+
+        misses.increment();
+        long expectedGeneration = generation.get();
+        suggestion = suggester.apply(word);
+        segment.put(word, (suggestion == null) ? NO_SUGGESTION : suggestion, expectedGeneration);
+
+        return suggestion;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private Segment segmentFor(String word) {
+        int hash = word.hashCode();
+        hash ^= hash >>> 16;
+
+        return segments[hash & (segments.length - 1)];
+    }
+
+    private abstract class Segment {
+        protected final int capacity;
+
+        public Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public synchronized String get(String word) {
+            return find(word);
+        }
+
+        public synchronized void put(String word, String suggestion, long expectedGeneration) {
+            if (generation.get() == expectedGeneration) {
+                insert(word, suggestion);
+            }
+        }
+
+        public abstract void clear();
+
+        public abstract int size();
+
+        protected abstract String find(String word);
+
+        protected abstract void insert(String word, String suggestion);
+    }
+
+    private class LruSegment extends Segment {
+        private final LinkedHashMap<String, String> entries;
+
+        public LruSegment(int capacity) {
+            super(capacity);
+            entries = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        @Override
+        public synchronized void clear() {
+            entries.clear();
+        }
+
+        @Override
+        public synchronized int size() {
+            return entries.size();
+        }
+
+        @Override
+        protected String find(String word) {
+            return entries.get(word);
+        }
+
+        @Override
+        protected void insert(String word, String suggestion) {
+            entries.put(word, suggestion);
+            if (entries.size() > capacity) {
+                removeEldest(entries);
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * New entries go into a window holding about 1% of the segment. Entries
+     * pushed out of the window compete with the oldest entry on probation in
+     * the main cache, and whichever the sketch has seen more often stays. An
+     * entry on probation that is asked for again is promoted to the protected
+     * part of the main cache, which holds up to 80% of it.
+     */
+    private class TinyLfuSegment extends Segment {
+        private final LinkedHashMap<String, String> window;
+        private final LinkedHashMap<String, String> probation;
+        private final LinkedHashMap<String, String> protectedEntries;
+        private final FrequencySketch sketch;
+        private final int windowCapacity;
+        private final int mainCapacity;
+        private final int protectedCapacity;
+
+        public TinyLfuSegment(int capacity) {
+            super(capacity);
+            window = new LinkedHashMap<>(16, 0.75f, true);
+            probation = new LinkedHashMap<>(16, 0.75f, true);
+            protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+            sketch = new FrequencySketch(capacity);
+            windowCapacity = Math.max(1, capacity / 100);
+            mainCapacity = capacity - windowCapacity;
+            protectedCapacity = mainCapacity * 4 / 5;
+        }
+
+        @Override
+        public synchronized void clear() {
+            window.clear();
+            probation.clear();
+            protectedEntries.clear();
+        }
+
+        @Override
+        public synchronized int size() {
+            return window.size() + probation.size() + protectedEntries.size();
+        }
+
+        @Override
+        protected String find(String word) {
+            sketch.increment(word);
+            String suggestion = window.get(word);
+            if (suggestion == null) {
+                suggestion = protectedEntries.get(word);
+            }
+            if (suggestion == null) {
+                suggestion = probation.remove(word);
+                if (suggestion != null) {
+                    protectedEntries.put(word, suggestion);
+                    if (protectedEntries.size() > protectedCapacity) {
+                        Map.Entry<String, String> demoted = removeEldest(protectedEntries);
+                        probation.put(demoted.getKey(), demoted.getValue());
+                    }
+                }
+            }
+
+            return suggestion;
+        }
+
+        @Override
+        protected void insert(String word, String suggestion) {
+            if (protectedEntries.containsKey(word)) {
+                protectedEntries.put(word, suggestion);
+                return;
+            } else if (probation.containsKey(word)) {
+                probation.put(word, suggestion);
+                return;
+            }
+
+            window.put(word, suggestion);
+            if (window.size() <= windowCapacity) {
+                return;
+            }
+
+            Map.Entry<String, String> candidate = removeEldest(window);
+            if (probation.size() + protectedEntries.size() < mainCapacity) {
+                probation.put(candidate.getKey(), candidate.getValue());
+                return;
+            }
+
+            LinkedHashMap<String, String> victims = probation.isEmpty() ? protectedEntries : probation;
+            if (victims.isEmpty()) {
+                evictions.increment();
+                return;
+            }
+            String victim = victims.keySet().iterator().next();
+            if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+                victims.remove(victim);
+                probation.put(candidate.getKey(), candidate.getValue());
+            }
+            evictions.increment();
+        }
+    }
+
+    private static Map.Entry<String, String> removeEldest(LinkedHashMap<String, String> entries) {
+        Iterator<Map.Entry<String, String>> iterator = entries.entrySet().iterator();
+        Map.Entry<String, String> eldest = iterator.next();
+        Map.Entry<String, String> removed = Map.entry(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+
+        return removed;
+    }
+}
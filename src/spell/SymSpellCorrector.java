@@ -0,0 +1,140 @@
+package spell;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.*;
+
+/**
+ * Spell corrector based on symmetric deletes. Every dictionary word is indexed
+ * under each string reachable by deleting up to maxEditDistance characters, so
+ * a lookup only has to generate the deletes of the input word and probe the
+ * index with them. Candidates found that way are verified with the same
+ * Damerau-Levenshtein automaton the trie search uses.
+ *
+ * Dictionaries are read by DictionaryLoader, split into words exactly as for
+ * SpellCorrector's Trie, so words like "don't", "e-mail" and "caf\u00e9" are
+ * kept whole and both correctors give the same suggestions. The characters of
+ * the words go into an Alphabet the automaton is built over.
+ */
+public class SymSpellCorrector implements ISpellCorrector {
+    private static final int DEFAULT_EDIT_DISTANCE = 2;
+
+    private final int maxEditDistance;
+    private final HashMap<String, Integer> frequencies;
+    private final HashMap<String, ArrayList<String>> deletes;
+    private final Alphabet alphabet;
+
+    public SymSpellCorrector() {
+        this(DEFAULT_EDIT_DISTANCE);
+    }
+
+    public SymSpellCorrector(int maxEditDistance) {
+        this.maxEditDistance = maxEditDistance;
+        frequencies = new HashMap<>();
+        deletes = new HashMap<>();
+        alphabet = new Alphabet();
+    }
+
+    @Override
+    public void useDictionary(String dictionaryFileName) throws IOException {
+        Trie trie = new Trie();
+        try {
+            new DictionaryLoader(trie).load(dictionaryFileName);
+        } catch (NoSuchFileException e) {
+            System.out.println("An error occurred.");
+            e.printStackTrace();
+        }
+        WordIterator words = new WordIterator(trie);
+        while (words.hasNext()) {
+            add(words.next(), words.getFrequency());
+        }
+    }
+
+    public void add(String word) {
+        add(word.toLowerCase(), 1);
+    }
+
+    private void add(String wordLower, int frequency) {
+        if (wordLower.isEmpty()) {
+            return;
+        }
+        if (frequencies.merge(wordLower, frequency, Integer::sum) > frequency) {
+            return;
+        }
+        for (int i = 0; i < wordLower.length(); i++) {
+            alphabet.add(wordLower.charAt(i));
+        }
+
+        HashSet<String> wordDeletes = new HashSet<>();
+        wordDeletes.add(wordLower);
+        generateDeletes(wordLower, maxEditDistance, wordDeletes);
+        for (String delete : wordDeletes) {
+            deletes.computeIfAbsent(delete, key -> new ArrayList<>(1)).add(wordLower);
+        }
+    }
+
+    @Override
+    public String suggestSimilarWord(String inputWord) {
+        String inputLower = inputWord.toLowerCase();
+        if (frequencies.containsKey(inputLower)) {
+            return inputLower;
+        }
+
+        HashSet<String> inputDeletes = new HashSet<>();
+        inputDeletes.add(inputLower);
+        generateDeletes(inputLower, maxEditDistance, inputDeletes);
+
+        DamerauLevenshteinAutomaton automaton = new DamerauLevenshteinAutomaton();
+        automaton.reset(inputLower.toCharArray(), inputLower.length(), maxEditDistance, alphabet);
+        HashSet<String> checked = new HashSet<>();
+        String wordToSuggest = null;
+        int bestDistance = maxEditDistance + 1;
+        int bestFrequency = 0;
+
+        for (String delete : inputDeletes) {
+            ArrayList<String> candidates = deletes.get(delete);
+            if (candidates == null) {
+                continue;
+            }
+            for (String candidate : candidates) {
+                if (!checked.add(candidate)) {
+                    continue;
+                }
+                int distance = automaton.distanceTo(candidate);
+                if (distance > maxEditDistance || distance > bestDistance) {
+                    continue;
+                }
+                int frequency = frequencies.get(candidate);
+                if (distance < bestDistance
+                        || frequency > bestFrequency
+                        || (frequency == bestFrequency && candidate.compareTo(wordToSuggest) < 0)) {
+                    wordToSuggest = candidate;
+                    bestDistance = distance;
+                    bestFrequency = frequency;
+                }
+            }
+        }
+
+        return wordToSuggest;
+    }
+
+    public int getWordCount() {
+        return frequencies.size();
+    }
+
+    public int getIndexSize() {
+        return deletes.size();
+    }
+
+    private void generateDeletes(String word, int editsLeft, HashSet<String> generatedStrings) {
+        if (editsLeft == 0 || word.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            String delete = word.substring(0, i) + word.substring(i + 1);
+            if (generatedStrings.add(delete)) {
+                generateDeletes(delete, editsLeft - 1, generatedStrings);
+            }
+        }
+    }
+}
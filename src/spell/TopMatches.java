@@ -0,0 +1,57 @@
+package spell;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Collects the k best matches in a bounded priority queue whose head is the
+ * worst match kept. Once the queue is full, subtrees that cannot beat that
+ * match are skipped. A word that only ties the worst match on distance and
+ * frequency sorts after it, since matches arrive alphabetically, so it cannot
+ * beat it either.
+ */
+class TopMatches implements MatchCollector {
+    private final int k;
+    private final PriorityQueue<Suggestion> matches;
+
+    public TopMatches(int k) {
+        this.k = k;
+        matches = new PriorityQueue<>(k, Collections.reverseOrder());
+    }
+
+    @Override
+    public boolean wants(int minimumDistance, int maxFrequency) {
+        if (matches.size() < k) {
+            return true;
+        }
+        Suggestion worst = matches.peek();
+
+        return minimumDistance < worst.getDistance()
+                || (minimumDistance == worst.getDistance() && maxFrequency > worst.getFrequency());
+    }
+
+    @Override
+    public void collect(char[] word, int length, int distance, int frequency) {
+        if (matches.size() == k) {
+            Suggestion worst = matches.peek();
+            if (distance > worst.getDistance()
+                    || (distance == worst.getDistance() && frequency <= worst.getFrequency())) {
+                return;
+            }
+            matches.poll();
+        }
+        matches.add(new Suggestion(new String(word, 0, length), distance, frequency));
+    }
+
+    /**
+     * Returns the matches collected, best first.
+     */
+    public List<Suggestion> getMatches() {
+        ArrayList<Suggestion> best = new ArrayList<>(matches);
+        Collections.sort(best);
+
+        return best;
+    }
+}
@@ -1,42 +1,155 @@
 package spell;
 
-public class Trie implements ITrie {
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The standard trie. Words may hold any characters: each trie has its own
+ * Alphabet, which gives every character that turns up a small index into the
+ * child arrays of the nodes.
+ */
+public class Trie implements IRootedTrie {
+    private static final int COMPLETIONS_PER_NODE = 10;
+    private static final int PATH_HASH_MULTIPLIER = 31;
+
+    private final Alphabet alphabet;
     private Node root;
     private int wordCount;
+    private int nodeCount;
+    /**
+     * The sum, over every word, of a mix of the word's characters. Kept up to
+     * date as words are added or merged in, it depends only on which words
+     * the trie holds, so equal tries hash equally however they were built.
+     * Frequencies are left out since INode.incrementValue can change them
+     * without the trie knowing.
+     */
+    private long structureHash;
+    private boolean completionsPrepared;
 
     public Trie() {
+        alphabet = new Alphabet();
         root = new Node();
         wordCount = 0;
+        nodeCount = 1;
+        structureHash = 0;
+        completionsPrepared = false;
+    }
+
+    public static Trie copyOf(IRootedTrie source) {
+        Trie trie = new Trie();
+        trie.copy(source.getRoot(), trie.root, source.getAlphabet(), 0);
+
+        return trie;
     }
 
     @Override
     public void add(String word) {
-        String wordLower = word.toLowerCase();
-        INode currentNode = root;
-        for (int i = 0; i < wordLower.length(); i++) {
-            int index = wordLower.charAt(i) - 'a';
-            if (currentNode.getChildren()[index] == null) {
-                currentNode.getChildren()[index] = new Node();
+        char[] wordLower = word.toLowerCase().toCharArray();
+        add(wordLower, wordLower.length);
+    }
+
+    public void add(char[] word, int length) {
+        Node currentNode = root;
+        long pathHash = 0;
+        for (int i = 0; i < length; i++) {
+            int index = alphabet.add(word[i]);
+            if (currentNode.getChild(index) == null) {
+                currentNode.setChild(index, new Node());
+                nodeCount++;
             }
-            currentNode = currentNode.getChildren()[index];
+            currentNode = (Node)currentNode.getChild(index);
+            pathHash = pathHash * PATH_HASH_MULTIPLIER + word[i];
         }
 
         if (currentNode.getValue() == 0) {
             wordCount++;
+            structureHash += hashWord(pathHash);
         }
         currentNode.incrementValue();
+
+        int frequency = currentNode.getValue();
+        String completion = completionsPrepared ? new String(word, 0, length) : null;
+        Node pathNode = root;
+        for (int i = 0; i < length; i++) {
+            pathNode.raiseMaxValue(frequency);
+            if (completionsPrepared) {
+                offerCompletion(pathNode, completion, frequency);
+            }
+            pathNode = (Node)pathNode.getChild(alphabet.indexOf(word[i]));
+        }
+        if (completionsPrepared) {
+            offerCompletion(pathNode, completion, frequency);
+        }
+    }
+
+    /**
+     * Adds every word of other to this trie, summing the frequencies of words
+     * found in both. Subtrees only other has are moved over rather than copied,
+     * so other must not be used afterwards.
+     */
+    public void merge(Trie other) {
+        Alphabet otherAlphabet = other.getAlphabet();
+        int[] indexes = null;
+        if (!alphabet.equals(otherAlphabet)) {
+            indexes = new int[otherAlphabet.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = alphabet.add(otherAlphabet.charAt(i));
+            }
+        }
+        merge(root, other.root, indexes, 0);
+        if (completionsPrepared) {
+            prepareCompletions();
+        }
+    }
+
+    /**
+     * Records the most frequent completions below every node, so complete can
+     * answer from the prefix's node alone. Once prepared, they are kept up to
+     * date as words are added.
+     */
+    public void prepareCompletions() {
+        prepareCompletions(root, new StringBuilder());
+        completionsPrepared = true;
+    }
+
+    /**
+     * Returns the k most frequent words starting with prefix, most frequent
+     * first and alphabetically among equals.
+     */
+    public List<String> complete(String prefix, int k) {
+        if (!completionsPrepared || k > COMPLETIONS_PER_NODE) {
+            return new CompletionSearch(k).complete(this, prefix);
+        }
+
+        Node currentNode = findPrefix(prefix.toLowerCase());
+        if (currentNode == null) {
+            return new ArrayList<>();
+        }
+        String[] completions = currentNode.getCompletions();
+
+        return new ArrayList<>(Arrays.asList(completions).subList(0, Math.min(k, completions.length)));
     }
 
     @Override
     public INode find(String word) {
-        String wordLower = word.toLowerCase();
-        INode currentNode = root;
-        for (int i = 0; i < wordLower.length(); i++) {
-            int index = wordLower.charAt(i) - 'a';
-            if (currentNode.getChildren()[index] == null) {
+        Node currentNode = findPrefix(word.toLowerCase());
+
+        return (currentNode != null && currentNode.getValue() > 0) ? currentNode : null;
+    }
+
+    /**
+     * Looks up the first length characters of word, which must already be
+     * lowercase, without creating a String.
+     */
+    public INode find(char[] word, int length) {
+        Node currentNode = root;
+        for (int i = 0; i < length; i++) {
+            int index = alphabet.indexOf(word[i]);
+            currentNode = (index == Alphabet.NONE) ? null : (Node)currentNode.getChild(index);
+            if (currentNode == null) {
                 return null;
             }
-            currentNode = currentNode.getChildren()[index];
         }
 
         return (currentNode.getValue() > 0) ? currentNode : null;
@@ -49,54 +162,264 @@ public class Trie implements ITrie {
 
     @Override
     public int getNodeCount() {
-        return root.getNumChildren() + 1;
+        return nodeCount;
     }
 
+    /**
+     * ITrie requires this to be recursive, so it needs stack for the longest
+     * word; words and writeTo walk the trie without recursion.
+     */
     @Override
     public String toString() {
-        return root.getWords();
+        StringBuilder words = new StringBuilder();
+        root.getWords(new StringBuilder(), words, alphabet);
+
+        return words.toString();
     }
 
     @Override
     public int hashCode() {
-        for (int i = 0; i < root.getChildren().length; i++) {
-            if (root.getChildren()[i] != null) {
-                return i * getNodeCount() * wordCount;
-            }
-        }
-
-        return 0;
+        return Long.hashCode(structureHash);
     }
 
+    /**
+     * Tries that differ in their counts or in which words they hold cannot be
+     * equal, so only tries that agree on all three are compared node by node.
+     * Frequencies are always compared in the walk.
+     */
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof Trie)) {
             return false;
         }
         Trie trie = (Trie)o;
+        if (wordCount != trie.wordCount || nodeCount != trie.nodeCount || structureHash != trie.structureHash) {
+            return false;
+        }
 
-        return root.equals(trie.getRoot());
+        return root.equals(trie.getRoot(), alphabet, trie.getAlphabet());
     }
 
+    @Override
     public Node getRoot() {
         return root;
     }
 
-    public INode compareNodes(INode node1, INode node2){
-        return findNode(node1, node2, root);
+    @Override
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    private Node findPrefix(String word) {
+        Node currentNode = root;
+        for (int i = 0; i < word.length(); i++) {
+            int index = alphabet.indexOf(word.charAt(i));
+            currentNode = (index == Alphabet.NONE) ? null : (Node)currentNode.getChild(index);
+            if (currentNode == null) {
+                return null;
+            }
+        }
+
+        return currentNode;
     }
 
-    private INode findNode(INode node1, INode node2, INode rootNode){
-        for (INode child : rootNode.getChildren()) {
-            if (child == node1) {
-                return node1;
-            } else if (child == node2) {
-                return node2;
-            } else if (child != null) {
-                findNode(node1, node2, child);
+    /**
+     * A node without a word of its own and with a single child has the same
+     * completions as that child, so it shares the child's arrays. Everyone
+     * else merges their children's lists, which are already in order.
+     */
+    private void prepareCompletions(Node node, StringBuilder word) {
+        INode[] children = node.getChildren();
+        int childCount = 0;
+        int candidateCount = (node.getValue() > 0) ? 1 : 0;
+        Node onlyChild = null;
+        for (int i = 0; i < children.length; i++) {
+            if (children[i] != null) {
+                Node child = (Node)children[i];
+                word.append(alphabet.charAt(i));
+                prepareCompletions(child, word);
+                word.setLength(word.length() - 1);
+                childCount++;
+                candidateCount += child.getCompletions().length;
+                onlyChild = child;
             }
         }
+        if (node.getValue() == 0 && childCount == 1) {
+            node.setCompletions(onlyChild.getCompletions(), onlyChild.getCompletionValues());
+            return;
+        }
+
+        String[] completions = new String[Math.min(COMPLETIONS_PER_NODE, candidateCount)];
+        int[] values = new int[completions.length];
+        int[] next = new int[children.length];
+        boolean ownWordTaken = node.getValue() == 0;
+        for (int n = 0; n < completions.length; n++) {
+            int best = -1;
+            if (!ownWordTaken) {
+                completions[n] = word.toString();
+                values[n] = node.getValue();
+            }
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == null) {
+                    continue;
+                }
+                Node child = (Node)children[i];
+                if (next[i] < child.getCompletions().length) {
+                    String candidate = child.getCompletions()[next[i]];
+                    int value = child.getCompletionValues()[next[i]];
+                    if (completions[n] == null || isBetterCompletion(candidate, value, completions[n], values[n])) {
+                        completions[n] = candidate;
+                        values[n] = value;
+                        best = i;
+                    }
+                }
+            }
+            if (best == -1) {
+                ownWordTaken = true;
+            } else {
+                next[best]++;
+            }
+        }
+        node.setCompletions(completions, values);
+    }
+
+    /**
+     * Puts a word whose frequency has just gone up into node's completions if
+     * it now belongs there, building new arrays rather than changing the old
+     * ones since those may be shared.
+     */
+    private void offerCompletion(Node node, String word, int value) {
+        String[] completions = node.getCompletions();
+        int[] values = node.getCompletionValues();
+        if (completions == null) {
+            node.setCompletions(new String[] {word}, new int[] {value});
+            return;
+        }
+
+        int existing = Arrays.asList(completions).indexOf(word);
+        int length = completions.length;
+        if (existing == -1) {
+            if (length == COMPLETIONS_PER_NODE && !isBetterCompletion(word, value, completions[length - 1], values[length - 1])) {
+                return;
+            }
+            length = Math.min(COMPLETIONS_PER_NODE, length + 1);
+        }
+
+        String[] updated = new String[length];
+        int[] updatedValues = new int[length];
+        int n = 0;
+        boolean placed = false;
+        for (int i = 0; i < completions.length && n < length; i++) {
+            if (i == existing) {
+                continue;
+            }
+            if (!placed && isBetterCompletion(word, value, completions[i], values[i])) {
+                updated[n] = word;
+                updatedValues[n++] = value;
+                placed = true;
+                if (n == length) {
+                    break;
+                }
+            }
+            updated[n] = completions[i];
+            updatedValues[n++] = values[i];
+        }
+        if (!placed) {
+            updated[n] = word;
+            updatedValues[n] = value;
+        }
+        node.setCompletions(updated, updatedValues);
+    }
+
+    private boolean isBetterCompletion(String word, int value, String other, int otherValue) {
+        return (value != otherValue) ? value > otherValue : word.compareTo(other) < 0;
+    }
+
+    /**
+     * Child i of other goes to child indexes[i] of node, or to child i if
+     * indexes is null. Subtrees can only be moved over whole when the indexes
+     * are the same; otherwise they are merged into new nodes.
+     */
+    private void merge(Node node, Node other, int[] indexes, long pathHash) {
+        if (other.getValue() > 0) {
+            if (node.getValue() == 0) {
+                wordCount++;
+                structureHash += hashWord(pathHash);
+            }
+            node.addValue(other.getValue());
+        }
+
+        INode[] otherChildren = other.getChildren();
+        for (int i = 0; i < otherChildren.length; i++) {
+            if (otherChildren[i] == null) {
+                continue;
+            }
+            int index = (indexes == null) ? i : indexes[i];
+            long childHash = pathHash * PATH_HASH_MULTIPLIER + alphabet.charAt(index);
+            if (node.getChild(index) == null && indexes == null) {
+                node.setChild(index, otherChildren[i]);
+                countMoved((Node)otherChildren[i], childHash);
+                continue;
+            }
+            if (node.getChild(index) == null) {
+                node.setChild(index, new Node());
+                nodeCount++;
+            }
+            merge((Node)node.getChild(index), (Node)otherChildren[i], indexes, childHash);
+        }
+        node.updateMaxValue();
+    }
+
+    /**
+     * Counts the nodes and words of a subtree merge moved over whole.
+     */
+    private void countMoved(Node node, long pathHash) {
+        nodeCount++;
+        if (node.getValue() > 0) {
+            wordCount++;
+            structureHash += hashWord(pathHash);
+        }
+
+        INode[] children = node.getChildren();
+        for (int i = 0; i < children.length; i++) {
+            if (children[i] != null) {
+                countMoved((Node)children[i], pathHash * PATH_HASH_MULTIPLIER + alphabet.charAt(i));
+            }
+        }
+    }
+
+    private void copy(INode from, Node to, Alphabet fromAlphabet, long pathHash) {
+        if (from.getValue() > 0) {
+            wordCount++;
+            to.addValue(from.getValue());
+            structureHash += hashWord(pathHash);
+        }
+
+        INode[] children = from.getChildren();
+        for (int i = 0; i < children.length; i++) {
+            if (children[i] != null) {
+                Node child = new Node();
+                to.setChild(alphabet.add(fromAlphabet.charAt(i)), child);
+                nodeCount++;
+                copy(children[i], child, fromAlphabet, pathHash * PATH_HASH_MULTIPLIER + fromAlphabet.charAt(i));
+            }
+        }
+        to.updateMaxValue();
+    }
+
+    /**
+     * Mixes the polynomial hash of a word's characters (the finalizer of
+     * MurmurHash3), so that summing over words still spreads changes to any
+     * one word across every bit.
+     */
+    private static long hashWord(long pathHash) {
+        long hash = pathHash * 0x9e3779b97f4a7c15L;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
 
-        return null;
+        return hash;
     }
 }
@@ -0,0 +1,119 @@
+package spell;
+
+import java.util.Arrays;
+
+/**
+ * Intersects a Damerau-Levenshtein automaton with the trie, so only words
+ * within the automaton's maximum distance of the input word are ever visited.
+ * Subtrees the automaton rejects are skipped entirely, and so are subtrees the
+ * MatchCollector says cannot change its result; Node records the highest
+ * frequency below it, which lets the collector rule out whole subtrees of rare
+ * words.
+ *
+ * Children are visited in the order of the characters they stand for, so
+ * words are found alphabetically whatever characters the dictionary holds.
+ *
+ * A search can be given another input word and run again, reusing its
+ * automaton and buffers. It counts the nodes and matches of its last run for
+ * CorrectorMetrics.
+ */
+class TrieSearch {
+    private final DamerauLevenshteinAutomaton automaton;
+    private char[] input;
+    private int inputLength;
+    private char[] word;
+    private Alphabet alphabet;
+    private MatchCollector collector;
+    private int nodesVisited;
+    private int matchesFound;
+
+    public TrieSearch() {
+        automaton = new DamerauLevenshteinAutomaton();
+        input = new char[16];
+        word = new char[32];
+    }
+
+    public void useInput(String inputWord) {
+        if (inputWord.length() > input.length) {
+            input = new char[inputWord.length() * 2];
+        }
+        for (int i = 0; i < inputWord.length(); i++) {
+            input[i] = Character.toLowerCase(inputWord.charAt(i));
+        }
+        inputLength = inputWord.length();
+    }
+
+    /**
+     * The input word, lowercased, in the first getInputLength characters.
+     */
+    public char[] getInput() {
+        return input;
+    }
+
+    public int getInputLength() {
+        return inputLength;
+    }
+
+    /**
+     * Hands every word of trie within maxDistance of the input word to the
+     * collector, alphabetically, skipping subtrees the collector rejects.
+     */
+    public void search(IRootedTrie trie, int maxDistance, MatchCollector collector) {
+        alphabet = trie.getAlphabet();
+        automaton.reset(input, inputLength, maxDistance, alphabet);
+        this.collector = collector;
+        nodesVisited = 0;
+        matchesFound = 0;
+        searchChildren(trie.getRoot(), 0);
+        this.collector = null;
+        alphabet = null;
+    }
+
+    /**
+     * The number of trie nodes the last search stepped the automaton through.
+     */
+    public int getNodesVisited() {
+        return nodesVisited;
+    }
+
+    /**
+     * The number of words within the maximum distance the last search handed
+     * to its collector.
+     */
+    public int getMatchesFound() {
+        return matchesFound;
+    }
+
+    private void searchChildren(INode node, int depth) {
+        INode[] children = node.getChildren();
+        for (int c : alphabet.getOrder()) {
+            if (c >= children.length || children[c] == null) {
+                continue;
+            }
+            nodesVisited++;
+            int rowMinimum = automaton.step(depth + 1, c);
+            if (!automaton.canMatch(rowMinimum) || !collector.wants(rowMinimum, getMaxValue(children[c]))) {
+                continue;
+            }
+
+            if (depth == word.length) {
+                word = Arrays.copyOf(word, word.length * 2);
+            }
+            word[depth] = alphabet.charAt(c);
+            int distance = automaton.getDistance(depth + 1);
+            int frequency = children[c].getValue();
+            if (frequency > 0 && distance <= automaton.getMaxDistance()) {
+                matchesFound++;
+                collector.collect(word, depth + 1, distance, frequency);
+            }
+
+            automaton.push(depth + 1, c);
+            searchChildren(children[c], depth + 1);
+            automaton.pop(depth + 1, c);
+        }
+    }
+
+    private int getMaxValue(INode node) {
+        return (node instanceof Node) ? ((Node)node).getMaxValue() : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,188 @@
+package spell;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A best-first walk of the trie that ranks words by the cheapest sequence of
+ * edits, priced by an IEditCostModel, that turns the input word into them
+ * (optimal string alignment: insertions, deletions, substitutions and swaps of
+ * adjacent characters).
+ *
+ * Each trie node reached carries its row of the weighted edit distance table.
+ * No word below a node can cost less than the smallest entry in its row or its
+ * parent's row, so nodes are expanded cheapest bound first and words come out
+ * in order of cost. The walk stops once k words have come out and everything
+ * left costs more than the k-th, or once nothing left is within the maximum
+ * cost; nodes beyond the maximum cost are never expanded.
+ */
+class WeightedSearch {
+    private final char[] input;
+    private final IEditCostModel costModel;
+    private final double maxCost;
+
+    public WeightedSearch(String inputWord, IEditCostModel costModel, double maxCost) {
+        input = inputWord.toLowerCase().toCharArray();
+        this.costModel = costModel;
+        this.maxCost = maxCost;
+    }
+
+    public List<Suggestion> search(IRootedTrie trie, int k) {
+        Alphabet alphabet = trie.getAlphabet();
+        PriorityQueue<State> queue = new PriorityQueue<>();
+        ArrayList<Suggestion> found = new ArrayList<>();
+        queue.add(createRoot(trie.getRoot()));
+
+        while (!queue.isEmpty()) {
+            State state = queue.poll();
+            if (state.bound > maxCost) {
+                break;
+            }
+            if (found.size() >= k && state.bound > found.get(k - 1).getCost()) {
+                break;
+            }
+
+            if (state.finished) {
+                found.add(new Suggestion(state.getWord(), state.edits[input.length],
+                        state.costs[input.length], state.node.getValue()));
+                continue;
+            }
+
+            if (state.node.getValue() > 0 && state.costs[input.length] <= maxCost) {
+                queue.add(new State(state));
+            }
+            INode[] children = state.node.getChildren();
+            for (int c = 0; c < children.length; c++) {
+                if (children[c] != null) {
+                    State child = createChild(state, children[c], alphabet.charAt(c));
+                    if (child.bound <= maxCost) {
+                        queue.add(child);
+                    }
+                }
+            }
+        }
+
+        Collections.sort(found);
+
+        return (found.size() > k) ? new ArrayList<>(found.subList(0, k)) : found;
+    }
+
+    private State createRoot(INode root) {
+        double[] costs = new double[input.length + 1];
+        int[] edits = new int[input.length + 1];
+        for (int j = 1; j <= input.length; j++) {
+            costs[j] = costs[j - 1] + costModel.deletion(input[j - 1]);
+            edits[j] = j;
+        }
+
+        return new State(null, root, '\0', costs, edits, 0);
+    }
+
+    private State createChild(State parent, INode node, char letter) {
+        double[] previous = parent.costs;
+        double[] costs = new double[input.length + 1];
+        int[] edits = new int[input.length + 1];
+        costs[0] = previous[0] + costModel.insertion(letter);
+        edits[0] = parent.edits[0] + 1;
+        double rowMinimum = costs[0];
+
+        for (int j = 1; j <= input.length; j++) {
+            char typed = input[j - 1];
+            double cost = costs[j - 1] + costModel.deletion(typed);
+            int editCount = edits[j - 1] + 1;
+
+            double inserted = previous[j] + costModel.insertion(letter);
+            if (inserted < cost || (inserted == cost && parent.edits[j] + 1 < editCount)) {
+                cost = inserted;
+                editCount = parent.edits[j] + 1;
+            }
+
+            double substituted = previous[j - 1] + ((typed == letter) ? 0 : costModel.substitution(typed, letter));
+            int substitutedEdits = parent.edits[j - 1] + ((typed == letter) ? 0 : 1);
+            if (substituted < cost || (substituted == cost && substitutedEdits < editCount)) {
+                cost = substituted;
+                editCount = substitutedEdits;
+            }
+
+            State grandparent = parent.parent;
+            if (grandparent != null && j > 1 && typed == parent.letter && input[j - 2] == letter && typed != letter) {
+                double swapped = grandparent.costs[j - 2] + costModel.transposition(parent.letter, letter);
+                if (swapped < cost || (swapped == cost && grandparent.edits[j - 2] + 1 < editCount)) {
+                    cost = swapped;
+                    editCount = grandparent.edits[j - 2] + 1;
+                }
+            }
+
+            costs[j] = cost;
+            edits[j] = editCount;
+            rowMinimum = Math.min(rowMinimum, cost);
+        }
+
+        return new State(parent, node, letter, costs, edits, Math.max(parent.bound, Math.min(rowMinimum, parent.rowMinimum)));
+    }
+
+    private static class State implements Comparable<State> {
+        private final State parent;
+        private final INode node;
+        private final char letter;
+        private final double[] costs;
+        private final int[] edits;
+        private final double rowMinimum;
+        private final double bound;
+        private final boolean finished;
+
+        public State(State parent, INode node, char letter, double[] costs, int[] edits, double bound) {
+            this.parent = parent;
+            this.node = node;
+            this.letter = letter;
+            this.costs = costs;
+            this.edits = edits;
+            double minimum = costs[0];
+            for (double cost : costs) {
+                minimum = Math.min(minimum, cost);
+            }
+            rowMinimum = minimum;
+            this.bound = bound;
+            finished = false;
+        }
+
+        /**
+         * The finished word of state, ranked by its own cost instead of the
+         * bound on the words below it.
+         */
+        public State(State state) {
+            parent = state.parent;
+            node = state.node;
+            letter = state.letter;
+            costs = state.costs;
+            edits = state.edits;
+            rowMinimum = state.rowMinimum;
+            bound = costs[costs.length - 1];
+            finished = true;
+        }
+
+        public String getWord() {
+            StringBuilder word = new StringBuilder();
+            for (State state = this; state.parent != null; state = state.parent) {
+                word.append(state.letter);
+            }
+
+            return word.reverse().toString();
+        }
+
+        /**
+         * Finished words come out before unexpanded nodes with the same bound,
+         * so they are counted before the search decides whether to stop.
+         */
+        @Override
+        public int compareTo(State state) {
+            if (bound != state.bound) {
+                return Double.compare(bound, state.bound);
+            }
+
+            return Boolean.compare(state.finished, finished);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package spell;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks the words of a trie in alphabetical order without recursion. The path
+ * from the root is kept on an explicit stack of nodes, each with the position
+ * in the alphabet's order of the next child to visit, and the word spelled by
+ * that path is kept in one StringBuilder that grows and shrinks with it. Apart
+ * from the Strings it returns, a walk only needs memory for its longest word.
+ *
+ * The trie must not change while it is being walked.
+ */
+public class WordIterator implements Iterator<String> {
+    private final Alphabet alphabet;
+    private final StringBuilder word;
+    private INode[] nodes;
+    private int[] nextChild;
+    private int depth;
+    private boolean ready;
+    private int frequency;
+
+    public WordIterator(IRootedTrie trie) {
+        alphabet = trie.getAlphabet();
+        word = new StringBuilder();
+        nodes = new INode[16];
+        nextChild = new int[16];
+        nodes[0] = trie.getRoot();
+        nextChild[0] = 0;
+        depth = 0;
+        ready = trie.getRoot().getValue() > 0;
+        frequency = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ready) {
+            ready = advance();
+        }
+
+        return ready;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        frequency = nodes[depth].getValue();
+
+        return word.toString();
+    }
+
+    /**
+     * The frequency of the word next last returned.
+     */
+    public int getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * Writes every word not yet returned to out, each followed by a newline,
+     * copying them through one buffer instead of creating Strings.
+     */
+    public void writeRemaining(Writer out) throws IOException {
+        char[] buffer = new char[32];
+        while (hasNext()) {
+            ready = false;
+            int length = word.length();
+            if (length + 1 > buffer.length) {
+                buffer = new char[(length + 1) * 2];
+            }
+            word.getChars(0, length, buffer, 0);
+            buffer[length] = '\n';
+            out.write(buffer, 0, length + 1);
+        }
+    }
+
+    /**
+     * Moves along the walk until the top of the stack is a word not yet
+     * returned, and returns false if the walk has ended instead.
+     */
+    private boolean advance() {
+        while (depth >= 0) {
+            INode[] children = nodes[depth].getChildren();
+            int[] order = alphabet.getOrder();
+            int position = nextChild[depth];
+            while (position < order.length && (order[position] >= children.length || children[order[position]] == null)) {
+                position++;
+            }
+            if (position == order.length) {
+                depth--;
+                word.setLength(Math.max(depth, 0));
+                continue;
+            }
+
+            nextChild[depth] = position + 1;
+            push(children[order[position]]);
+            word.append(alphabet.charAt(order[position]));
+            nextChild[depth] = 0;
+            if (nodes[depth].getValue() > 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void push(INode node) {
+        depth++;
+        if (depth == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            nextChild = Arrays.copyOf(nextChild, nextChild.length * 2);
+        }
+        nodes[depth] = node;
+    }
+}